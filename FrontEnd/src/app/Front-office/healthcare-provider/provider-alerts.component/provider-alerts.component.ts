@@ -6,6 +6,8 @@ import { AlertService } from '../../../core/services/alert.service';
 import { MedicalHistoryService } from '../../../core/services/medical-history.service'; // to get patients list
 import { AlertResponse, AlertRequest } from '../../../core/models/alert.model';
 import { UserDto } from '../../../core/models/user.dto';
+import { timer } from 'rxjs';
+import { last, switchMap, takeWhile, tap } from 'rxjs/operators';
 
 @Component({
   selector: 'app-provider-alerts',
@@ -99,11 +101,26 @@ export class ProviderAlertsComponent implements OnInit {
     });
   }
 
-  // Trigger generation
+  // Trigger generation: the backend answers with a job handle, poll it until the run is done
   triggerGeneration(): void {
-    this.alertService.triggerAlertGeneration().subscribe({
-      next: (response) => {
-        this.successMessage = 'Alert generation triggered successfully.';
+    this.alertService.triggerAlertGeneration().pipe(
+      tap(() => {
+        this.successMessage = 'Alert generation started...';
+        this.cdr.detectChanges();
+      }),
+      switchMap(job => timer(0, 2000).pipe(
+        switchMap(() => this.alertService.getGenerationJob(job.jobId)),
+        takeWhile(status => status.status === 'QUEUED' || status.status === 'RUNNING', true),
+        last()
+      ))
+    ).subscribe({
+      next: (job) => {
+        if (job.status === 'FAILED') {
+          this.error = 'Alert generation failed: ' + (job.error || 'unknown error');
+          this.successMessage = null;
+        } else {
+          this.successMessage = `Alert generation completed: ${job.alertsCreated} alerts created for ${job.patientsProcessed} patients.`;
+        }
         this.cdr.detectChanges();
         if (this.selectedPatientId) {
           this.loadAlertsForPatient(this.selectedPatientId);
@@ -13,4 +13,39 @@ export interface AlertRequest {
   patientId: number;
   message: string;
   severity?: string; // optional, backend may default
-}
\ No newline at end of file
+}
+export interface GenerationJob {
+  jobId: string;
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED' | string;
+  scope: 'ALL' | 'PATIENTS' | string;
+  patientsRequested: number | null;
+  patientsTotal: number;
+  patientsProcessed: number;
+  alertsCreated: number;
+  failures: number;
+  patientsPerSecond: number;
+  submittedAt: string;
+  startedAt: string | null;
+  finishedAt: string | null;
+  error: string | null;
+}
+
+export interface BulkAlertRequest {
+  alertIds?: number[];
+  patientId?: number; // required when alertIds is empty
+  severity?: 'INFO' | 'WARNING' | 'CRITICAL';
+  resolved?: boolean; // delete only
+  before?: string; // ISO datetime, createdAt exclusive
+}
+
+export interface BulkAlertResult {
+  count: number;
+}
+
+export interface AlertSummary {
+  patientId: number;
+  openCritical: number;
+  openWarning: number;
+  openInfo: number;
+  lastAlertAt: string | null;
+}
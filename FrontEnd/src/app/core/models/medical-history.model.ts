@@ -40,6 +40,21 @@ export interface MedicalHistoryResponse {
   updatedAt: string;
 }
 
+// Summary table row; the full record comes from the detail endpoint
+export interface MedicalHistoryListItem {
+  id: number;
+  patientId: number;
+  patientName: string;
+  diagnosis?: string;
+  progressionStage?: string;
+  updatedAt: string;
+}
+
+export interface MedicalHistoryPage {
+  items: MedicalHistoryListItem[];
+  nextCursor: number | null; // null on the last page
+}
+
 export interface Surgery {
   description: string;
   date: string; // ISO date
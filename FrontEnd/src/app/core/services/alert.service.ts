@@ -1,9 +1,9 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpErrorResponse } from '@angular/common/http';
+import { HttpClient, HttpErrorResponse, HttpParams } from '@angular/common/http';
 import { Observable, throwError } from 'rxjs';
 import { catchError } from 'rxjs/operators';
 import { environment } from '../../../environments/environment';
-import { AlertResponse, AlertRequest } from '../../core/models/alert.model';
+import { AlertResponse, AlertRequest, AlertSummary, BulkAlertRequest, BulkAlertResult, GenerationJob } from '../../core/models/alert.model';
 
 @Injectable({
   providedIn: 'root'
@@ -37,9 +37,15 @@ export class AlertService {
   }
 
   // ================== PROVIDER ENDPOINTS ==================
-  // Trigger automatic alert generation for all patients
-  triggerAlertGeneration(): Observable<string> {
-    return this.http.post(`${this.apiUrl}/api/provider/alerts/generate`, {}, { responseType: 'text' })
+  // Start automatic alert generation (all patients, or only patientIds); returns the job handle at once
+  triggerAlertGeneration(patientIds?: number[]): Observable<GenerationJob> {
+    return this.http.post<GenerationJob>(`${this.apiUrl}/api/provider/alerts/generate`, patientIds ? { patientIds } : {})
+      .pipe(catchError(err => this.handleError(err)));
+  }
+
+  // Progress of a generation job
+  getGenerationJob(jobId: string): Observable<GenerationJob> {
+    return this.http.get<GenerationJob>(`${this.apiUrl}/api/provider/alerts/generate/${jobId}`)
       .pipe(catchError(err => this.handleError(err)));
   }
 
@@ -67,6 +73,25 @@ export class AlertService {
       .pipe(catchError(err => this.handleError(err)));
   }
 
+  // Resolve many alerts in one request (ids or a patient filter); only the count comes back
+  resolveAlerts(request: BulkAlertRequest): Observable<BulkAlertResult> {
+    return this.http.post<BulkAlertResult>(`${this.apiUrl}/api/provider/alerts/resolve`, request)
+      .pipe(catchError(err => this.handleError(err)));
+  }
+
+  // Delete many alerts in one request
+  deleteAlerts(request: BulkAlertRequest): Observable<BulkAlertResult> {
+    return this.http.post<BulkAlertResult>(`${this.apiUrl}/api/provider/alerts/delete`, request)
+      .pipe(catchError(err => this.handleError(err)));
+  }
+
+  // Open-alert counts per patient (provider view); all patients when no ids are given
+  getAlertSummaries(patientIds: number[] = []): Observable<AlertSummary[]> {
+    const params = patientIds.reduce((p, id) => p.append('patientId', id), new HttpParams());
+    return this.http.get<AlertSummary[]>(`${this.apiUrl}/api/provider/alerts/summary`, { params })
+      .pipe(catchError(err => this.handleError(err)));
+  }
+
   // Get alerts for a specific patient (provider view)
   getAlertsByPatient(patientId: number): Observable<AlertResponse[]> {
     return this.http.get<AlertResponse[]>(`${this.apiUrl}/api/provider/alerts/patient/${patientId}`)
@@ -1,9 +1,9 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpErrorResponse } from '@angular/common/http';
+import { HttpClient, HttpErrorResponse, HttpParams } from '@angular/common/http';
 import { Observable, throwError } from 'rxjs';
 import { catchError } from 'rxjs/operators';
 import { environment } from '../../../environments/environment';
-import { MedicalHistoryResponse, MedicalHistoryRequest, FileDto } from '../models/medical-history.model';
+import { MedicalHistoryResponse, MedicalHistoryRequest, MedicalHistoryPage, FileDto } from '../models/medical-history.model';
 import { UserDto } from '../models/user.dto';
 import { AuthService } from './auth.service';
 
@@ -88,6 +88,14 @@ export class MedicalHistoryService {
       );
   }
 
+  // One page of summary rows for the provider's patients; pass nextCursor of the previous page to continue
+  getPageForProvider(cursor?: number | null, size?: number): Observable<MedicalHistoryPage> {
+    return this.http.get<MedicalHistoryPage>(`${this.apiUrl}/api/provider/medical-history/page`, { params: this.pageParams(cursor, size) })
+      .pipe(
+        catchError(err => this.handleError(err))
+      );
+  }
+
   // Get a single medical history by patient ID
   getByPatientId(patientId: number): Observable<MedicalHistoryResponse> {
     console.log('[MedicalHistoryService] Fetching medical history for patient:', patientId);
@@ -181,6 +189,23 @@ getAssignedPatients(): Observable<UserDto[]> {
     .pipe(catchError(err => this.handleError(err)));
 }
 
+// One page of summary rows for the caregiver's patients
+getPageForCaregiver(cursor?: number | null, size?: number): Observable<MedicalHistoryPage> {
+  return this.http.get<MedicalHistoryPage>(`${this.apiUrl}/api/caregiver/medical-history/page`, { params: this.pageParams(cursor, size) })
+    .pipe(catchError(err => this.handleError(err)));
+}
+
+private pageParams(cursor?: number | null, size?: number): HttpParams {
+  let params = new HttpParams();
+  if (cursor != null) {
+    params = params.set('cursor', cursor);
+  }
+  if (size != null) {
+    params = params.set('size', size);
+  }
+  return params;
+}
+
 // Get a specific patient's medical history (for caregiver view)
 getPatientHistoryForCaregiver(patientId: number): Observable<MedicalHistoryResponse> {
   const url = `${this.apiUrl}/api/caregiver/medical-history/${patientId}`;
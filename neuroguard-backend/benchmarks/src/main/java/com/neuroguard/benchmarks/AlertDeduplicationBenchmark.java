@@ -0,0 +1,103 @@
+package com.neuroguard.benchmarks;
+
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.repository.AlertBatchWriter;
+import com.neuroguard.riskalertservice.repository.AlertRepository;
+import com.neuroguard.riskalertservice.rules.CandidateAlert;
+import com.neuroguard.riskalertservice.service.AlertDeduplicator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedup stage of alert generation against an in-memory H2 alert table: one chunk of candidates,
+ * part of which is already open, filtered in one fingerprint query plus an in-memory diff.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertDeduplicationBenchmark {
+
+    @Param({"200"})
+    private int chunkSize;
+
+    @Param({"40"})
+    private int patientsPerChunk;
+
+    @Param({"5"})
+    private int openAlertsPerPatient;
+
+    private ConfigurableApplicationContext context;
+    private AlertDeduplicator deduplicator;
+    private List<CandidateAlert> candidates;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DedupContext.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cloud.discovery.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--logging.level.root=WARN");
+        deduplicator = context.getBean(AlertDeduplicator.class);
+
+        // Existing open alerts: every patient already has a few, half of the chunk repeats them
+        List<CandidateAlert> open = new ArrayList<>();
+        for (long patientId = 1; patientId <= patientsPerChunk; patientId++) {
+            for (int i = 0; i < openAlertsPerPatient; i++) {
+                open.add(candidate("open-" + i, patientId, "Open alert " + i + " for patient " + patientId, AlertSeverity.INFO));
+            }
+        }
+        context.getBean(AlertBatchWriter.class).insert(open);
+
+        candidates = new ArrayList<>(chunkSize);
+        for (int i = 0; i < chunkSize; i++) {
+            long patientId = 1 + i % patientsPerChunk;
+            int repeated = (i / patientsPerChunk) % openAlertsPerPatient;
+            candidates.add(i % 2 == 0
+                    ? candidate("open-" + repeated, patientId, "Open alert " + repeated + " for patient " + patientId, AlertSeverity.WARNING)
+                    : candidate("new-" + i, patientId, "New alert " + i + " for patient " + patientId, AlertSeverity.WARNING));
+        }
+    }
+
+    private static CandidateAlert candidate(String rule, long patientId, String message, AlertSeverity severity) {
+        return new CandidateAlert(rule, patientId, message, severity, Alert.fingerprintOf(rule, patientId));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CandidateAlert> filterChunk() {
+        return deduplicator.filterNew(candidates);
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Alert.class)
+    @EnableJpaRepositories(basePackageClasses = AlertRepository.class)
+    @Import({AlertDeduplicator.class, AlertBatchWriter.class})
+    static class DedupContext {
+    }
+}
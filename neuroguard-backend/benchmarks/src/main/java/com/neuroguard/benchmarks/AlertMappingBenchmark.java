@@ -0,0 +1,55 @@
+package com.neuroguard.benchmarks;
+
+import com.neuroguard.riskalertservice.dto.AlertResponse;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.service.AlertResponseMapper;
+import com.neuroguard.riskalertservice.service.UserDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alert list mapping (AlertService's former mapToResponse): one bulk patient-name lookup through
+ * {@link UserDirectory} against a stub user-service, with and without the local user cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertMappingBenchmark {
+
+    @Param({"200"})
+    private int alertCount;
+
+    @Param({"50"})
+    private int distinctPatients;
+
+    @Param({"true", "false"})
+    private boolean userCache;
+
+    private AlertResponseMapper mapper;
+    private List<Alert> alerts;
+
+    @Setup
+    public void setUp() {
+        UserDirectory directory = new UserDirectory(new StubUserServiceClient(), new SimpleMeterRegistry(),
+                userCache, 10_000, Duration.ofMinutes(10));
+        mapper = new AlertResponseMapper(directory);
+        alerts = Fixtures.alerts(alertCount, distinctPatients, 42);
+    }
+
+    @Benchmark
+    public List<AlertResponse> mapAlertList() {
+        return mapper.toResponses(alerts);
+    }
+
+    @Benchmark
+    public AlertResponse mapSingleAlert() {
+        return mapper.toResponse(alerts.get(0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.neuroguard.benchmarks;
+
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic, seeded populations so that runs stay comparable
+final class Fixtures {
+
+    private static final String[] STAGES = {"MILD", "MODERATE", "SEVERE"};
+    private static final AlertSeverity[] SEVERITIES = AlertSeverity.values();
+
+    private Fixtures() {
+    }
+
+    static UserDto patient(long id, Random random) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        user.setUsername("patient" + id);
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setRole("PATIENT");
+        user.setDateOfBirth(LocalDate.now().minusYears(55 + random.nextInt(40)).minusDays(random.nextInt(365)));
+        return user;
+    }
+
+    static List<UserDto> patients(int count, long seed) {
+        Random random = new Random(seed);
+        List<UserDto> patients = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            patients.add(patient(id, random));
+        }
+        return patients;
+    }
+
+    // Roughly the mix seen in practice: most histories have a diagnosis, a few fields are often empty
+    static List<MedicalHistorySummary> histories(List<UserDto> patients, long seed) {
+        Random random = new Random(seed);
+        List<MedicalHistorySummary> histories = new ArrayList<>(patients.size());
+        for (UserDto patient : patients) {
+            MedicalHistorySummary history = new MedicalHistorySummary();
+            history.setPatientId(patient.getId());
+            history.setDiagnosis(maybe(random, 0.9, "Alzheimer's disease, early onset"));
+            history.setDiagnosisDate(LocalDate.now().minusDays(random.nextInt(3650)));
+            history.setProgressionStage(STAGES[random.nextInt(STAGES.length)]);
+            history.setGeneticRisk(maybe(random, 0.3, "APOE4 carrier"));
+            history.setFamilyHistory(maybe(random, 0.4, "Mother diagnosed at 72"));
+            history.setEnvironmentalFactors(maybe(random, 0.2, "Lives alone"));
+            history.setComorbidities(maybe(random, 0.5, "Hypertension, type 2 diabetes"));
+            history.setMedicationAllergies(maybe(random, 0.2, "Penicillin"));
+            history.setEnvironmentalAllergies(maybe(random, 0.1, "Pollen"));
+            history.setFoodAllergies(maybe(random, 0.1, "Peanuts"));
+            List<Long> caregivers = new ArrayList<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                caregivers.add(10_000L + random.nextInt(500));
+            }
+            history.setCaregiverIds(caregivers);
+            history.setProviderIds(List.of(20_000L + random.nextInt(50)));
+            history.setUpdatedAt(LocalDateTime.now());
+            histories.add(history);
+        }
+        return histories;
+    }
+
+    static List<Alert> alerts(int count, int distinctPatients, long seed) {
+        Random random = new Random(seed);
+        List<Alert> alerts = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= count; id++) {
+            Alert alert = new Alert();
+            alert.setId(id);
+            alert.setPatientId(1L + random.nextInt(distinctPatients));
+            alert.setMessage("Comorbidities detected: Hypertension, type 2 diabetes #" + id);
+            alert.setSeverity(SEVERITIES[random.nextInt(SEVERITIES.length)]);
+            alert.setResolved(random.nextInt(4) == 0);
+            alert.setCreatedAt(now.minusMinutes(id));
+            alert.setUpdatedAt(now.minusMinutes(id));
+            alerts.add(alert);
+        }
+        return alerts;
+    }
+
+    private static String maybe(Random random, double probability, String value) {
+        return random.nextDouble() < probability ? value : null;
+    }
+}
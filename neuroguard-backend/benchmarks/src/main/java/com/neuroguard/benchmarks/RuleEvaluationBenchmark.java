@@ -0,0 +1,64 @@
+package com.neuroguard.benchmarks;
+
+import com.neuroguard.riskalertservice.config.AlertRuleProperties;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.rules.AlertRule;
+import com.neuroguard.riskalertservice.rules.AlertRuleFactory;
+import com.neuroguard.riskalertservice.rules.AlertRuleRegistry;
+import com.neuroguard.riskalertservice.rules.EvaluationScope;
+import com.neuroguard.riskalertservice.service.AlertRuleEvaluator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluate stage of alert generation: the rules configured in risk-alert-service's application.yaml,
+ * applied to a synthetic patient population. Scores are per patient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleEvaluationBenchmark {
+
+    private static final int POPULATION = 1000;
+
+    @Param({"ALL", "TIME_BASED"})
+    private EvaluationScope scope;
+
+    private AlertRuleEvaluator evaluator;
+    private List<UserDto> patients;
+    private List<MedicalHistorySummary> histories;
+
+    @Setup
+    public void setUp() throws IOException {
+        Binder binder = new Binder(ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yaml"))));
+        AlertRuleProperties properties = binder.bind("alert", AlertRuleProperties.class).get();
+        AlertRuleRegistry registry = new AlertRuleRegistry(properties, new AlertRuleFactory(),
+                new StaticListableBeanFactory().getBeanProvider(AlertRule.class), new SimpleMeterRegistry());
+        evaluator = new AlertRuleEvaluator(registry);
+        patients = Fixtures.patients(POPULATION, 42);
+        histories = Fixtures.histories(patients, 42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POPULATION)
+    public void evaluatePopulation(Blackhole blackhole) {
+        for (int i = 0; i < POPULATION; i++) {
+            blackhole.consume(evaluator.evaluate(patients.get(i), histories.get(i), scope));
+        }
+    }
+}
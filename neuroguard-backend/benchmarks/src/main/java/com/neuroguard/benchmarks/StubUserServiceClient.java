@@ -0,0 +1,33 @@
+package com.neuroguard.benchmarks;
+
+import com.neuroguard.riskalertservice.client.UserServiceClient;
+import com.neuroguard.riskalertservice.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Answers from memory, so the benchmarks measure our code rather than HTTP
+class StubUserServiceClient implements UserServiceClient {
+
+    private final Random random = new Random(42);
+
+    @Override
+    public UserDto getUserById(Long id) {
+        return Fixtures.patient(id, random);
+    }
+
+    @Override
+    public List<UserDto> getUsersByIds(List<Long> ids) {
+        List<UserDto> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            users.add(Fixtures.patient(id, random));
+        }
+        return users;
+    }
+
+    @Override
+    public List<UserDto> getUsersByRole(String role) {
+        return Fixtures.patients(1000, 42);
+    }
+}
@@ -4,6 +4,8 @@ import com.neuroguard.medicalhistoryservice.dto.UserDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
@@ -16,6 +18,10 @@ public interface UserServiceClient {
     @GetMapping("/{id}")
     UserDto getUserById(@PathVariable("id") Long id);
 
+    // Unknown ids are simply absent from the result
+    @PostMapping("/batch")
+    List<UserDto> getUsersByIds(@RequestBody List<Long> ids);
+
     @GetMapping("/role/{role}")
     List<UserDto> getUsersByRole(@PathVariable("role") String role);
 }
\ No newline at end of file
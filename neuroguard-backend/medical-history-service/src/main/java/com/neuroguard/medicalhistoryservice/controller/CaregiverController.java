@@ -2,6 +2,7 @@ package com.neuroguard.medicalhistoryservice.controller;
 
 
 import com.neuroguard.medicalhistoryservice.client.UserServiceClient;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryPage;
 import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryResponse;
 import com.neuroguard.medicalhistoryservice.dto.UserDto;
 import com.neuroguard.medicalhistoryservice.service.MedicalHistoryService;
@@ -13,10 +14,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/caregiver/medical-history")
@@ -37,19 +41,39 @@ public class CaregiverController {
         return ResponseEntity.ok(response);
     }
 
+    // Summary table rows only; use the cursor from the previous page to continue
+    @GetMapping("/page")
+    public ResponseEntity<MedicalHistoryPage> getHistoryPage(@RequestParam(required = false) Long cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             HttpServletRequest httpRequest) {
+        Long caregiverId = (Long) httpRequest.getAttribute("userId");
+        return ResponseEntity.ok(historyService.getMedicalHistoryPageForCaregiver(caregiverId, cursor, size));
+    }
+
     @GetMapping("/patients")
     public ResponseEntity<List<UserDto>> getAssignedPatients(HttpServletRequest httpRequest) {
         Long caregiverId = (Long) httpRequest.getAttribute("userId");
         List<MedicalHistoryResponse> histories = historyService.getAllMedicalHistoriesForCaregiver(caregiverId);
 
+        // Fetch complete user data from user service in one bulk call
+        Map<Long, UserDto> users = new HashMap<>();
+        try {
+            List<Long> patientIds = histories.stream().map(MedicalHistoryResponse::getPatientId).toList();
+            if (!patientIds.isEmpty()) {
+                for (UserDto user : userServiceClient.getUsersByIds(patientIds)) {
+                    users.put(user.getId(), user);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to fetch patient data for {} patients", histories.size(), e);
+        }
+
         List<UserDto> patients = new ArrayList<>();
         for (MedicalHistoryResponse history : histories) {
-            try {
-                // Fetch complete user data from user service
-                UserDto patient = userServiceClient.getUserById(history.getPatientId());
+            UserDto patient = users.get(history.getPatientId());
+            if (patient != null) {
                 patients.add(patient);
-            } catch (Exception e) {
-                log.error("Failed to fetch patient data for id: {}", history.getPatientId(), e);
+            } else {
                 // Create a fallback UserDto with available information
                 UserDto fallbackDto = new UserDto();
                 fallbackDto.setId(history.getPatientId());
@@ -2,41 +2,166 @@ package com.neuroguard.medicalhistoryservice.controller;
 
 
 import com.neuroguard.medicalhistoryservice.entity.MedicalRecordFile;
-import com.neuroguard.medicalhistoryservice.repository.MedicalRecordFileRepository;
+import com.neuroguard.medicalhistoryservice.service.MedicalHistoryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 
+/**
+ * Serves stored medical record files. Responses carry the content hash as a strong ETag and the file's
+ * modification time, so clients revalidate with a 304 instead of downloading again, and a single byte
+ * range can be requested to resume or seek. The bytes are handed to Tomcat's sendfile when the
+ * connector supports it, otherwise copied with {@link FileChannel#transferTo}.
+ */
 @RestController
 @RequiredArgsConstructor
 public class FileDownloadController {
 
-    private final MedicalRecordFileRepository fileRepository;
+    // Tomcat's sendfile request attributes (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MedicalHistoryService historyService;
 
     @GetMapping("/files/{fileId}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long fileId) {
-        MedicalRecordFile file = fileRepository.findById(fileId)
-                .orElseThrow(() -> new RuntimeException("File not found"));
+    public void downloadFile(@PathVariable Long fileId, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        Long requesterId = (Long) request.getAttribute("userId");
+        String role = (String) request.getAttribute("userRole");
+        if (requesterId == null || role == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing or invalid token");
+        }
+        MedicalRecordFile file = historyService.getFileForDownload(fileId, requesterId, role);
+
+        Path path;
+        long length;
+        long lastModified;
         try {
-            Path path = Paths.get(file.getFilePath());
-            Resource resource = new UrlResource(path.toUri());
-            if (resource.exists() || resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
-                        .body(resource);
-            } else {
-                throw new RuntimeException("Could not read file");
+            path = Paths.get(file.getFilePath()).toRealPath();
+            length = Files.size(path);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file", e);
+        }
+        String etag = "\"" + file.getContentHash() + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        // Sets ETag and Last-Modified, and answers If-None-Match / If-Modified-Since with 304
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        List<HttpRange> ranges = requestedRanges(request, etag, lastModified);
+        // Several ranges would need a multipart body; serving the whole file instead is allowed
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType(file));
+        response.setContentLengthLong(count);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(file.getFileName(), StandardCharsets.UTF_8).build().toString());
+        if (count <= 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file straight to the socket once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, out);
+                if (sent <= 0) {
+                    break;   // file shrank underneath us
+                }
+                position += sent;
+            }
+        }
+    }
+
+    // Malformed ranges, and ranges whose If-Range validator no longer matches, mean "send everything"
+    private static List<HttpRange> requestedRanges(HttpServletRequest request, String etag, long lastModified) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !ifRangeMatches(request, etag, lastModified)) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String contentType(MedicalRecordFile file) {
+        if (file.getFileType() != null) {
+            try {
+                return MediaType.parseMediaType(file.getFileType()).toString();
+            } catch (InvalidMediaTypeException e) {
+                // fall through to the generic type
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Error: " + e.getMessage());
         }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package com.neuroguard.medicalhistoryservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistorySummary;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistorySummaryRequest;
+import com.neuroguard.medicalhistoryservice.service.MedicalHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk endpoints for other services (e.g. risk-alert-service). Summaries are streamed as
+ * NDJSON, one history per line, and read from the database a page at a time.
+ */
+@RestController
+@RequestMapping("/api/internal/medical-history")
+@RequiredArgsConstructor
+public class InternalMedicalHistoryController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int PAGE_SIZE = 500;
+    private static final int DEFAULT_LIMIT = 1000;
+    private static final int MAX_LIMIT = 10000;
+
+    private final MedicalHistoryService historyService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/summaries", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamSummaries(@RequestBody MedicalHistorySummaryRequest request) {
+        StreamingResponseBody body;
+        if (request.getChangedSince() != null) {
+            LocalDateTime since = request.getChangedSince();
+            long afterId = request.getChangedAfterId() != null ? request.getChangedAfterId() : 0L;
+            int limit = request.getLimit() != null ? Math.min(Math.max(request.getLimit(), 1), MAX_LIMIT) : Integer.MAX_VALUE;
+            body = out -> {
+                LocalDateTime cursorTime = since;
+                long cursorId = afterId;
+                int remaining = limit;
+                while (remaining > 0) {
+                    List<MedicalHistorySummary> page = historyService.getSummariesChangedSince(cursorTime, cursorId, Math.min(PAGE_SIZE, remaining));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    writePage(out, page);
+                    MedicalHistorySummary last = page.get(page.size() - 1);
+                    cursorTime = last.getUpdatedAt();
+                    cursorId = last.getId();
+                    remaining -= page.size();
+                }
+            };
+        } else if (request.getPatientIds() != null) {
+            List<Long> patientIds = request.getPatientIds();
+            body = out -> {
+                for (int from = 0; from < patientIds.size(); from += PAGE_SIZE) {
+                    List<Long> page = patientIds.subList(from, Math.min(from + PAGE_SIZE, patientIds.size()));
+                    writePage(out, historyService.getSummariesByPatientIds(page));
+                }
+            };
+        } else {
+            long after = request.getAfterPatientId() != null ? request.getAfterPatientId() : 0L;
+            int limit = request.getLimit() != null ? Math.min(Math.max(request.getLimit(), 1), MAX_LIMIT) : DEFAULT_LIMIT;
+            body = out -> {
+                long cursor = after;
+                int remaining = limit;
+                while (remaining > 0) {
+                    List<MedicalHistorySummary> page = historyService.getSummariesAfter(cursor, Math.min(PAGE_SIZE, remaining));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    writePage(out, page);
+                    cursor = page.get(page.size() - 1).getPatientId();
+                    remaining -= page.size();
+                }
+            };
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    private void writePage(OutputStream out, List<MedicalHistorySummary> page) throws IOException {
+        for (MedicalHistorySummary summary : page) {
+            out.write(objectMapper.writeValueAsBytes(summary));
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
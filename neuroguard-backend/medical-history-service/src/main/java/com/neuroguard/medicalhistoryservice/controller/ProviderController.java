@@ -2,6 +2,7 @@ package com.neuroguard.medicalhistoryservice.controller;
 
 
 import com.neuroguard.medicalhistoryservice.client.UserServiceClient;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryPage;
 import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryRequest;
 import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryResponse;
 import com.neuroguard.medicalhistoryservice.dto.UserDto;
@@ -46,6 +47,15 @@ public class ProviderController {
         return ResponseEntity.ok(histories);
     }
 
+    // Summary table rows only; use the cursor from the previous page to continue
+    @GetMapping("/page")
+    public ResponseEntity<MedicalHistoryPage> getHistoryPage(@RequestParam(required = false) Long cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             HttpServletRequest httpRequest) {
+        Long providerId = (Long) httpRequest.getAttribute("userId");
+        return ResponseEntity.ok(historyService.getMedicalHistoryPageForProvider(providerId, cursor, size));
+    }
+
     @DeleteMapping("/{patientId}")
     public ResponseEntity<Void> deleteHistory(@PathVariable Long patientId,
                                               HttpServletRequest httpRequest) {
@@ -0,0 +1,30 @@
+package com.neuroguard.medicalhistoryservice.dto;
+
+
+import com.neuroguard.medicalhistoryservice.entity.ProgressionStage;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row of the provider/caregiver summary table; the full record stays behind GET /{patientId}
+@Data
+@NoArgsConstructor
+public class MedicalHistoryListItem {
+    private Long id;
+    private Long patientId;
+    private String patientName;      // fetched from user-service
+    private String diagnosis;
+    private ProgressionStage progressionStage;
+    private LocalDateTime updatedAt;
+
+    // JPQL constructor projection
+    public MedicalHistoryListItem(Long id, Long patientId, String diagnosis,
+                                  ProgressionStage progressionStage, LocalDateTime updatedAt) {
+        this.id = id;
+        this.patientId = patientId;
+        this.diagnosis = diagnosis;
+        this.progressionStage = progressionStage;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.neuroguard.medicalhistoryservice.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalHistoryPage {
+    private List<MedicalHistoryListItem> items;
+    private Long nextCursor;         // pass back as ?cursor= for the next page, null on the last page
+}
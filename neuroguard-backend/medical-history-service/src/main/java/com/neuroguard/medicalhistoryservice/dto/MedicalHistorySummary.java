@@ -0,0 +1,28 @@
+package com.neuroguard.medicalhistoryservice.dto;
+
+import com.neuroguard.medicalhistoryservice.entity.ProgressionStage;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Name-free view of a medical history for service-to-service consumers (no user-service lookups)
+@Data
+public class MedicalHistorySummary {
+    private Long id;
+    private Long patientId;
+    private String diagnosis;
+    private LocalDate diagnosisDate;
+    private ProgressionStage progressionStage;
+    private String geneticRisk;
+    private String familyHistory;
+    private String environmentalFactors;
+    private String comorbidities;
+    private String medicationAllergies;
+    private String environmentalAllergies;
+    private String foodAllergies;
+    private List<Long> caregiverIds;
+    private List<Long> providerIds;
+    private LocalDateTime updatedAt;      // change watermark for incremental consumers
+}
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_medical_history_updated_at", columnList = "updatedAt, id"))
 @Data
 public class MedicalHistory {
     @Id
@@ -51,12 +52,14 @@ public class MedicalHistory {
 
     // Assigned providers and caregivers (store IDs)
     @ElementCollection
-    @CollectionTable(name = "medical_history_providers", joinColumns = @JoinColumn(name = "medical_history_id"))
+    @CollectionTable(name = "medical_history_providers", joinColumns = @JoinColumn(name = "medical_history_id"),
+            indexes = @Index(name = "idx_medical_history_providers_provider", columnList = "provider_id, medical_history_id"))
     @Column(name = "provider_id")
     private List<Long> providerIds = new ArrayList<>();
 
     @ElementCollection
-    @CollectionTable(name = "medical_history_caregivers", joinColumns = @JoinColumn(name = "medical_history_id"))
+    @CollectionTable(name = "medical_history_caregivers", joinColumns = @JoinColumn(name = "medical_history_id"),
+            indexes = @Index(name = "idx_medical_history_caregivers_caregiver", columnList = "caregiver_id, medical_history_id"))
     @Column(name = "caregiver_id")
     private List<Long> caregiverIds = new ArrayList<>();
 
@@ -18,4 +18,6 @@ public class MedicalRecordFile {
     private String fileType;
     private String filePath;  // stored on disk or cloud
     private LocalDateTime uploadedAt;
+    @Column(length = 64)
+    private String contentHash;  // SHA-256 hex of the content, served as the download ETag
 }
\ No newline at end of file
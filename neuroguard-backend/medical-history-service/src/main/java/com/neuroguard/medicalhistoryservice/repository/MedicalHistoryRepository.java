@@ -1,10 +1,14 @@
 package com.neuroguard.medicalhistoryservice.repository;
 
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryListItem;
 import com.neuroguard.medicalhistoryservice.entity.MedicalHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +16,60 @@ public interface MedicalHistoryRepository extends JpaRepository<MedicalHistory,
     Optional<MedicalHistory> findByPatientId(Long patientId);
     boolean existsByPatientId(Long patientId);
 
-    @Query("SELECT h FROM MedicalHistory h WHERE :providerId MEMBER OF h.providerIds")
+    List<MedicalHistory> findByPatientIdIn(List<Long> patientIds);
+
+    List<MedicalHistory> findByPatientIdGreaterThanOrderByPatientIdAsc(Long patientId, Pageable pageable);
+
+    // Keyset page over (updatedAt, id) for the change feed
+    @Query("SELECT h FROM MedicalHistory h WHERE h.updatedAt > :since OR (h.updatedAt = :since AND h.id > :afterId) " +
+            "ORDER BY h.updatedAt ASC, h.id ASC")
+    List<MedicalHistory> findChangedSince(@Param("since") LocalDateTime since,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    // Plain joins so the (provider_id / caregiver_id, medical_history_id) indexes drive the lookup
+    @Query("SELECT DISTINCT h FROM MedicalHistory h JOIN h.providerIds p WHERE p = :providerId")
     List<MedicalHistory> findByProviderId(@Param("providerId") Long providerId);
 
-    @Query("SELECT h FROM MedicalHistory h WHERE :caregiverId MEMBER OF h.caregiverIds")
+    @Query("SELECT DISTINCT h FROM MedicalHistory h JOIN h.caregiverIds c WHERE c = :caregiverId")
     List<MedicalHistory> findByCaregiverId(@Param("caregiverId") Long caregiverId);
+
+    // Keyset pages of list columns only, newest history first. The assignment index is ordered by
+    // (user id, history id), so a page reads about `size` index entries whatever the caseload.
+    @Query("SELECT DISTINCT new com.neuroguard.medicalhistoryservice.dto.MedicalHistoryListItem(" +
+            "h.id, h.patientId, h.diagnosis, h.progressionStage, h.updatedAt) " +
+            "FROM MedicalHistory h JOIN h.providerIds p WHERE p = :providerId " +
+            "AND (:cursor IS NULL OR h.id < :cursor) ORDER BY h.id DESC")
+    List<MedicalHistoryListItem> findListPageForProvider(@Param("providerId") Long providerId,
+                                                         @Param("cursor") Long cursor,
+                                                         Pageable pageable);
+
+    @Query("SELECT DISTINCT new com.neuroguard.medicalhistoryservice.dto.MedicalHistoryListItem(" +
+            "h.id, h.patientId, h.diagnosis, h.progressionStage, h.updatedAt) " +
+            "FROM MedicalHistory h JOIN h.caregiverIds c WHERE c = :caregiverId " +
+            "AND (:cursor IS NULL OR h.id < :cursor) ORDER BY h.id DESC")
+    List<MedicalHistoryListItem> findListPageForCaregiver(@Param("caregiverId") Long caregiverId,
+                                                          @Param("cursor") Long cursor,
+                                                          Pageable pageable);
+
+    // Access checks answered from the index, without loading the assignment lists
+    @Query("SELECT COUNT(h) > 0 FROM MedicalHistory h JOIN h.providerIds p WHERE h.id = :historyId AND p = :providerId")
+    boolean isProviderAssigned(@Param("historyId") Long historyId, @Param("providerId") Long providerId);
+
+    @Query("SELECT COUNT(h) > 0 FROM MedicalHistory h JOIN h.caregiverIds c WHERE h.id = :historyId AND c = :caregiverId")
+    boolean isCaregiverAssigned(@Param("historyId") Long historyId, @Param("caregiverId") Long caregiverId);
+
+    // Lists touch every lazy collection of every row; these initialise one collection for a whole
+    // list in a single query (the collections are bags, so they cannot share one fetch join)
+    @Query("SELECT h FROM MedicalHistory h LEFT JOIN FETCH h.providerIds WHERE h.id IN :ids")
+    List<MedicalHistory> fetchProviderIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT h FROM MedicalHistory h LEFT JOIN FETCH h.caregiverIds WHERE h.id IN :ids")
+    List<MedicalHistory> fetchCaregiverIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT h FROM MedicalHistory h LEFT JOIN FETCH h.surgeries WHERE h.id IN :ids")
+    List<MedicalHistory> fetchSurgeries(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT h FROM MedicalHistory h LEFT JOIN FETCH h.files WHERE h.id IN :ids")
+    List<MedicalHistory> fetchFiles(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -3,9 +3,19 @@ package com.neuroguard.medicalhistoryservice.repository;
 
 import com.neuroguard.medicalhistoryservice.entity.MedicalRecordFile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface MedicalRecordFileRepository extends JpaRepository<MedicalRecordFile, Long> {
     List<MedicalRecordFile> findByMedicalHistoryId(Long medicalHistoryId);
-}
\ No newline at end of file
+
+    // Only fills a missing hash, so concurrent first downloads of the same file don't conflict
+    @Transactional
+    @Modifying
+    @Query("UPDATE MedicalRecordFile f SET f.contentHash = :hash WHERE f.id = :id AND f.contentHash IS NULL")
+    int recordContentHash(@Param("id") Long id, @Param("hash") String hash);
+}
@@ -2,14 +2,18 @@ package com.neuroguard.medicalhistoryservice.service;
 
 import com.neuroguard.medicalhistoryservice.client.UserServiceClient;
 import com.neuroguard.medicalhistoryservice.dto.FileDto;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryListItem;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryPage;
 import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryRequest;
 import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryResponse;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistorySummary;
 import com.neuroguard.medicalhistoryservice.dto.UserDto;
 import com.neuroguard.medicalhistoryservice.entity.MedicalHistory;
 import com.neuroguard.medicalhistoryservice.entity.MedicalRecordFile;
 import com.neuroguard.medicalhistoryservice.repository.MedicalHistoryRepository;
 import com.neuroguard.medicalhistoryservice.repository.MedicalRecordFileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -18,12 +22,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,16 +53,30 @@ public class MedicalHistoryService {
 
     private final String uploadDir = "uploads/medical-history/";
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     // ------------------- Provider Operations -------------------
+    @Transactional(readOnly = true)
     public List<MedicalHistoryResponse> getAllMedicalHistoriesForProvider(Long providerId) {
-        List<MedicalHistory> histories = historyRepository.findByProviderId(providerId);
-        return histories.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return mapToResponses(fetchDetails(historyRepository.findByProviderId(providerId)));
     }
 
     // ------------------- Caregiver Operations -------------------
+    @Transactional(readOnly = true)
     public List<MedicalHistoryResponse> getAllMedicalHistoriesForCaregiver(Long caregiverId) {
-        List<MedicalHistory> histories = historyRepository.findByCaregiverId(caregiverId);
-        return histories.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return mapToResponses(fetchDetails(historyRepository.findByCaregiverId(caregiverId)));
+    }
+
+    // ------------------- Paged Listings (keyset on id, newest first) -------------------
+    public MedicalHistoryPage getMedicalHistoryPageForProvider(Long providerId, Long cursor, Integer size) {
+        int limit = pageSize(size);
+        return toPage(historyRepository.findListPageForProvider(providerId, cursor, PageRequest.of(0, limit + 1)), limit);
+    }
+
+    public MedicalHistoryPage getMedicalHistoryPageForCaregiver(Long caregiverId, Long cursor, Integer size) {
+        int limit = pageSize(size);
+        return toPage(historyRepository.findListPageForCaregiver(caregiverId, cursor, PageRequest.of(0, limit + 1)), limit);
     }
 
     @Transactional
@@ -84,7 +112,7 @@ public class MedicalHistoryService {
                 .orElseThrow(() -> new RuntimeException("Medical history not found for patient: " + patientId));
 
         // Authorization: provider must be in providerIds
-        if (!history.getProviderIds().contains(providerId)) {
+        if (!historyRepository.isProviderAssigned(history.getId(), providerId)) {
             throw new RuntimeException("Provider not assigned to this patient");
         }
 
@@ -116,6 +144,8 @@ public class MedicalHistoryService {
             history.getProviderIds().add(providerId);
         }
 
+        // Collection-only edits do not dirty the row, so bump the change watermark explicitly
+        history.setUpdatedAt(LocalDateTime.now());
         history = historyRepository.save(history);
         return mapToResponse(history);
     }
@@ -125,7 +155,7 @@ public class MedicalHistoryService {
         MedicalHistory history = historyRepository.findByPatientId(patientId)
                 .orElseThrow(() -> new RuntimeException("Medical history not found for patient: " + patientId));
 
-        if (!history.getProviderIds().contains(providerId)) {
+        if (!historyRepository.isProviderAssigned(history.getId(), providerId)) {
             throw new RuntimeException("Provider not assigned to this patient");
         }
 
@@ -146,12 +176,12 @@ public class MedicalHistoryService {
                 }
                 break;
             case "PROVIDER":
-                if (!history.getProviderIds().contains(requesterId)) {
+                if (!historyRepository.isProviderAssigned(history.getId(), requesterId)) {
                     throw new RuntimeException("Access denied: Provider not assigned to this patient");
                 }
                 break;
             case "CAREGIVER":
-                if (!history.getCaregiverIds().contains(requesterId)) {
+                if (!historyRepository.isCaregiverAssigned(history.getId(), requesterId)) {
                     throw new RuntimeException("Access denied: Caregiver not assigned to this patient");
                 }
                 break;
@@ -162,6 +192,29 @@ public class MedicalHistoryService {
         return mapToResponse(history);
     }
 
+    // ------------------- Bulk Summaries (service-to-service) -------------------
+
+    @Transactional(readOnly = true)
+    public List<MedicalHistorySummary> getSummariesByPatientIds(List<Long> patientIds) {
+        return fetchAssignments(historyRepository.findByPatientIdIn(patientIds)).stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<MedicalHistorySummary> getSummariesAfter(Long afterPatientId, int limit) {
+        return fetchAssignments(historyRepository.findByPatientIdGreaterThanOrderByPatientIdAsc(afterPatientId, PageRequest.of(0, limit))).stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<MedicalHistorySummary> getSummariesChangedSince(LocalDateTime since, Long afterId, int limit) {
+        return fetchAssignments(historyRepository.findChangedSince(since, afterId, PageRequest.of(0, limit))).stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+
     // ------------------- File Operations -------------------
 
     @Transactional
@@ -171,7 +224,7 @@ public class MedicalHistoryService {
 
         if (requesterRole.equals("PATIENT") && !history.getPatientId().equals(requesterId)) {
             throw new RuntimeException("Access denied: You can only upload files to your own medical history");
-        } else if (requesterRole.equals("PROVIDER") && !history.getProviderIds().contains(requesterId)) {
+        } else if (requesterRole.equals("PROVIDER") && !historyRepository.isProviderAssigned(history.getId(), requesterId)) {
             throw new RuntimeException("Access denied: Provider not assigned to this patient");
         } else if (!requesterRole.equals("PATIENT") && !requesterRole.equals("PROVIDER")) {
             throw new RuntimeException("Access denied: Only patients and providers can upload files");
@@ -179,10 +232,16 @@ public class MedicalHistoryService {
 
         String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
         String filePath = uploadDir + patientId + "/" + fileName;
+        String contentHash;
         try {
             Path path = Paths.get(filePath);
             Files.createDirectories(path.getParent());
-            file.transferTo(path);
+            // Hash while writing so downloads get a strong ETag without reading the file again
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, path);
+            }
+            contentHash = HexFormat.of().formatHex(digest.digest());
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file", e);
         }
@@ -193,6 +252,7 @@ public class MedicalHistoryService {
         fileEntity.setFileType(file.getContentType());
         fileEntity.setFilePath(filePath);
         fileEntity.setUploadedAt(LocalDateTime.now());
+        fileEntity.setContentHash(contentHash);
 
         fileEntity = fileRepository.save(fileEntity);
         return mapToFileDto(fileEntity);
@@ -202,31 +262,34 @@ public class MedicalHistoryService {
         MedicalHistory history = historyRepository.findByPatientId(patientId)
                 .orElseThrow(() -> new RuntimeException("Medical history not found for patient: " + patientId));
 
-        switch (requesterRole) {
-            case "PATIENT":
-                if (!history.getPatientId().equals(requesterId)) {
-                    throw new RuntimeException("Access denied");
-                }
-                break;
-            case "PROVIDER":
-                if (!history.getProviderIds().contains(requesterId)) {
-                    throw new RuntimeException("Access denied");
-                }
-                break;
-            case "CAREGIVER":
-                if (!history.getCaregiverIds().contains(requesterId)) {
-                    throw new RuntimeException("Access denied");
-                }
-                break;
-            default:
-                throw new RuntimeException("Access denied");
-        }
+        checkFileReadAccess(history, requesterId, requesterRole);
 
         return history.getFiles().stream()
                 .map(this::mapToFileDto)
                 .collect(Collectors.toList());
     }
 
+    // Same access rules as getFiles; files stored before hashes were recorded get theirs on first download.
+    // Not transactional: the file is hashed with no connection or row lock held, then stored in its own update.
+    public MedicalRecordFile getFileForDownload(Long fileId, Long requesterId, String requesterRole) {
+        MedicalRecordFile file = fileRepository.findById(fileId)
+                .orElseThrow(() -> new RuntimeException("File not found: " + fileId));
+        MedicalHistory history = historyRepository.findById(file.getMedicalHistoryId())
+                .orElseThrow(() -> new RuntimeException("Medical history not found for file: " + fileId));
+
+        checkFileReadAccess(history, requesterId, requesterRole);
+
+        if (file.getContentHash() == null) {
+            try {
+                file.setContentHash(hashFile(Paths.get(file.getFilePath())));
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read file", e);
+            }
+            fileRepository.recordContentHash(file.getId(), file.getContentHash());
+        }
+        return file;
+    }
+
     @Transactional
     public void deleteFile(Long patientId, Long fileId, Long requesterId, String requesterRole) {
         MedicalHistory history = historyRepository.findByPatientId(patientId)
@@ -240,7 +303,7 @@ public class MedicalHistoryService {
                 }
                 break;
             case "PROVIDER":
-                if (!history.getProviderIds().contains(requesterId)) {
+                if (!historyRepository.isProviderAssigned(history.getId(), requesterId)) {
                     throw new RuntimeException("Access denied: Provider not assigned to this patient");
                 }
                 break;
@@ -266,6 +329,47 @@ public class MedicalHistoryService {
 
     // ------------------- Helper Methods -------------------
 
+    private void checkFileReadAccess(MedicalHistory history, Long requesterId, String requesterRole) {
+        if (requesterId == null || requesterRole == null) {
+            throw new RuntimeException("Access denied");
+        }
+        switch (requesterRole) {
+            case "PATIENT":
+                if (!history.getPatientId().equals(requesterId)) {
+                    throw new RuntimeException("Access denied");
+                }
+                break;
+            case "PROVIDER":
+                if (!historyRepository.isProviderAssigned(history.getId(), requesterId)) {
+                    throw new RuntimeException("Access denied");
+                }
+                break;
+            case "CAREGIVER":
+                if (!historyRepository.isCaregiverAssigned(history.getId(), requesterId)) {
+                    throw new RuntimeException("Access denied");
+                }
+                break;
+            default:
+                throw new RuntimeException("Access denied");
+        }
+    }
+
+    private static String hashFile(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private List<Long> resolveCaregiverNamesToIds(List<String> caregiverNames) {
         if (caregiverNames == null || caregiverNames.isEmpty()) {
             return new ArrayList<>();
@@ -296,6 +400,27 @@ public class MedicalHistoryService {
         return ids;
     }
 
+    // Summaries only read the assignments; full responses need every collection.
+    // Must run in the transaction that loaded the histories, so the fetches fill those same instances.
+    private List<MedicalHistory> fetchAssignments(List<MedicalHistory> histories) {
+        if (!histories.isEmpty()) {
+            List<Long> ids = histories.stream().map(MedicalHistory::getId).toList();
+            historyRepository.fetchProviderIds(ids);
+            historyRepository.fetchCaregiverIds(ids);
+        }
+        return histories;
+    }
+
+    private List<MedicalHistory> fetchDetails(List<MedicalHistory> histories) {
+        fetchAssignments(histories);
+        if (!histories.isEmpty()) {
+            List<Long> ids = histories.stream().map(MedicalHistory::getId).toList();
+            historyRepository.fetchSurgeries(ids);
+            historyRepository.fetchFiles(ids);
+        }
+        return histories;
+    }
+
     private MedicalHistory mapRequestToEntity(MedicalHistoryRequest req) {
         MedicalHistory history = new MedicalHistory();
         history.setPatientId(req.getPatientId());
@@ -320,41 +445,86 @@ public class MedicalHistoryService {
     }
 
     private MedicalHistoryResponse mapToResponse(MedicalHistory history) {
-        MedicalHistoryResponse resp = new MedicalHistoryResponse();
-        resp.setId(history.getId());
-        resp.setPatientId(history.getPatientId());
+        return mapToResponse(history, resolveUsers(List.of(history)));
+    }
+
+    // Names for the whole list come from one bulk lookup instead of one call per patient, provider and caregiver
+    private List<MedicalHistoryResponse> mapToResponses(List<MedicalHistory> histories) {
+        Map<Long, UserDto> users = resolveUsers(histories);
+        return histories.stream()
+                .map(history -> mapToResponse(history, users))
+                .collect(Collectors.toList());
+    }
 
+    private Map<Long, UserDto> resolveUsers(List<MedicalHistory> histories) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (MedicalHistory history : histories) {
+            ids.add(history.getPatientId());
+            ids.addAll(history.getProviderIds());
+            ids.addAll(history.getCaregiverIds());
+        }
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
         try {
-            UserDto patient = userServiceClient.getUserById(history.getPatientId());
-            resp.setPatientName(patient.getFirstName() + " " + patient.getLastName());
+            Map<Long, UserDto> users = new HashMap<>();
+            for (UserDto user : userServiceClient.getUsersByIds(new ArrayList<>(ids))) {
+                users.put(user.getId(), user);
+            }
+            return users;
         } catch (Exception e) {
-            resp.setPatientName("Unknown");
-            log.error("Failed to fetch patient name for id: {}", history.getPatientId(), e);
+            // Names are cosmetic; the histories are still returned, with "Unknown" in place of each name
+            log.error("Failed to fetch user names for {} ids", ids.size(), e);
+            return Map.of();
         }
+    }
 
-        List<String> providerNames = new ArrayList<>();
-        for (Long providerId : history.getProviderIds()) {
-            try {
-                UserDto provider = userServiceClient.getUserById(providerId);
-                providerNames.add(provider.getFirstName() + " " + provider.getLastName());
-            } catch (Exception e) {
-                providerNames.add("Unknown");
-                log.error("Failed to fetch provider name for id: {}", providerId, e);
-            }
-        }
-        resp.setProviderNames(providerNames);
+    private static int pageSize(Integer size) {
+        return size != null ? Math.min(Math.max(size, 1), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+    }
 
-        List<String> caregiverNames = new ArrayList<>();
-        for (Long caregiverId : history.getCaregiverIds()) {
-            try {
-                UserDto caregiver = userServiceClient.getUserById(caregiverId);
-                caregiverNames.add(caregiver.getFirstName() + " " + caregiver.getLastName());
-            } catch (Exception e) {
-                caregiverNames.add("Unknown");
-                log.error("Failed to fetch caregiver name for id: {}", caregiverId, e);
+    // items holds up to limit + 1 rows; the extra one only says whether another page follows.
+    // Only the page's patients are named, in one bulk lookup
+    private MedicalHistoryPage toPage(List<MedicalHistoryListItem> items, int limit) {
+        Long nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            nextCursor = items.get(limit - 1).getId();
+        }
+        if (items.isEmpty()) {
+            return new MedicalHistoryPage(items, null);
+        }
+        Map<Long, UserDto> users = new HashMap<>();
+        try {
+            for (UserDto user : userServiceClient.getUsersByIds(items.stream().map(MedicalHistoryListItem::getPatientId).toList())) {
+                users.put(user.getId(), user);
             }
+        } catch (Exception e) {
+            log.error("Failed to fetch patient names for {} histories", items.size(), e);
+        }
+        for (MedicalHistoryListItem item : items) {
+            item.setPatientName(displayName(users, item.getPatientId()));
         }
-        resp.setCaregiverNames(caregiverNames);
+        return new MedicalHistoryPage(items, nextCursor);
+    }
+
+    private static String displayName(Map<Long, UserDto> users, Long id) {
+        UserDto user = users.get(id);
+        return user != null ? user.getFirstName() + " " + user.getLastName() : "Unknown";
+    }
+
+    private MedicalHistoryResponse mapToResponse(MedicalHistory history, Map<Long, UserDto> users) {
+        MedicalHistoryResponse resp = new MedicalHistoryResponse();
+        resp.setId(history.getId());
+        resp.setPatientId(history.getPatientId());
+        resp.setPatientName(displayName(users, history.getPatientId()));
+        resp.setProviderNames(history.getProviderIds().stream()
+                .map(id -> displayName(users, id))
+                .collect(Collectors.toList()));
+        resp.setCaregiverNames(history.getCaregiverIds().stream()
+                .map(id -> displayName(users, id))
+                .collect(Collectors.toList()));
 
         resp.setDiagnosis(history.getDiagnosis());
         resp.setDiagnosisDate(history.getDiagnosisDate());
@@ -376,6 +546,26 @@ public class MedicalHistoryService {
         return resp;
     }
 
+    private MedicalHistorySummary mapToSummary(MedicalHistory history) {
+        MedicalHistorySummary summary = new MedicalHistorySummary();
+        summary.setId(history.getId());
+        summary.setPatientId(history.getPatientId());
+        summary.setDiagnosis(history.getDiagnosis());
+        summary.setDiagnosisDate(history.getDiagnosisDate());
+        summary.setProgressionStage(history.getProgressionStage());
+        summary.setGeneticRisk(history.getGeneticRisk());
+        summary.setFamilyHistory(history.getFamilyHistory());
+        summary.setEnvironmentalFactors(history.getEnvironmentalFactors());
+        summary.setComorbidities(history.getComorbidities());
+        summary.setMedicationAllergies(history.getMedicationAllergies());
+        summary.setEnvironmentalAllergies(history.getEnvironmentalAllergies());
+        summary.setFoodAllergies(history.getFoodAllergies());
+        summary.setCaregiverIds(new ArrayList<>(history.getCaregiverIds()));
+        summary.setProviderIds(new ArrayList<>(history.getProviderIds()));
+        summary.setUpdatedAt(history.getUpdatedAt());
+        return summary;
+    }
+
     private FileDto mapToFileDto(MedicalRecordFile file) {
         FileDto dto = new FileDto();
         dto.setId(file.getId());
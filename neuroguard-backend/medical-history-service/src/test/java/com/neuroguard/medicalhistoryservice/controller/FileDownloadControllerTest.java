@@ -0,0 +1,151 @@
+package com.neuroguard.medicalhistoryservice.controller;
+
+import com.neuroguard.medicalhistoryservice.entity.MedicalRecordFile;
+import com.neuroguard.medicalhistoryservice.security.JwtUtils;
+import com.neuroguard.medicalhistoryservice.service.MedicalHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FileDownloadController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class FileDownloadControllerTest {
+
+    private static final String BODY = "0123456789abcdefghij";
+    private static final String ETAG = "\"abc123\"";
+    private static final Instant MODIFIED = Instant.parse("2026-01-15T10:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MedicalHistoryService historyService;
+
+    @MockitoBean
+    private JwtUtils jwtUtils;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path path = dir.resolve("record.txt");
+        Files.writeString(path, BODY, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(path, FileTime.from(MODIFIED));
+        MedicalRecordFile file = new MedicalRecordFile();
+        file.setId(5L);
+        file.setFileName("record.txt");
+        file.setFileType("text/plain");
+        file.setFilePath(path.toString());
+        file.setContentHash("abc123");
+        when(historyService.getFileForDownload(5L, 1L, "PATIENT")).thenReturn(file);
+    }
+
+    @Test
+    void servesTheWholeFileWithValidators() throws Exception {
+        mockMvc.perform(download())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void servesASingleRange() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().string("56789"));
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("hij"));
+    }
+
+    @Test
+    void rejectsARangePastTheEnd() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void malformedOrMultipleRangesGetTheWholeFile() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=oops"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-1,5-6"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void ifRangeWithTheCurrentValidatorKeepsTheRange() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-3").header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("0123"));
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-3").header(HttpHeaders.IF_RANGE, httpDate(MODIFIED)))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("0123"));
+    }
+
+    @Test
+    void ifRangeWithAStaleValidatorGetsTheWholeFile() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-3").header(HttpHeaders.IF_RANGE, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-3").header(HttpHeaders.IF_RANGE, httpDate(MODIFIED.minusSeconds(60))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void answersRevalidationWithNotModified() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(download().header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(download().header(HttpHeaders.IF_NONE_MATCH, "\"old\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsARequestWithoutIdentity() throws Exception {
+        mockMvc.perform(get("/files/5").requestAttr("userId", 1L))
+                .andExpect(status().isUnauthorized());
+        verify(historyService, never()).getFileForDownload(any(), any(), any());
+    }
+
+    private static MockHttpServletRequestBuilder download() {
+        return get("/files/5").requestAttr("userId", 1L).requestAttr("userRole", "PATIENT");
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atZone(ZoneOffset.UTC));
+    }
+}
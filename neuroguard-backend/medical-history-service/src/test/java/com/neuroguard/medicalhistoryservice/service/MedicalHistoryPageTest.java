@@ -0,0 +1,61 @@
+package com.neuroguard.medicalhistoryservice.service;
+
+import com.neuroguard.medicalhistoryservice.client.UserServiceClient;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryListItem;
+import com.neuroguard.medicalhistoryservice.dto.MedicalHistoryPage;
+import com.neuroguard.medicalhistoryservice.repository.MedicalHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MedicalHistoryPageTest {
+
+    @Mock
+    private MedicalHistoryRepository historyRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @InjectMocks
+    private MedicalHistoryService historyService;
+
+    @Test
+    void fullPageWithMoreRowsHasACursor() {
+        when(historyRepository.findListPageForProvider(7L, null, PageRequest.of(0, 4))).thenReturn(items(10, 9, 8, 7));
+        when(userServiceClient.getUsersByIds(any())).thenReturn(List.of());
+
+        MedicalHistoryPage page = historyService.getMedicalHistoryPageForProvider(7L, null, 3);
+
+        assertThat(page.getItems()).extracting(MedicalHistoryListItem::getId).containsExactly(10L, 9L, 8L);
+        assertThat(page.getNextCursor()).isEqualTo(8L);
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() {
+        when(historyRepository.findListPageForCaregiver(7L, 8L, PageRequest.of(0, 4))).thenReturn(items(7, 6, 5));
+        when(userServiceClient.getUsersByIds(any())).thenReturn(List.of());
+
+        MedicalHistoryPage page = historyService.getMedicalHistoryPageForCaregiver(7L, 8L, 3);
+
+        // Without the extra row this page would promise a next one that comes back empty
+        assertThat(page.getItems()).extracting(MedicalHistoryListItem::getId).containsExactly(7L, 6L, 5L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static List<MedicalHistoryListItem> items(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new MedicalHistoryListItem(id, 100 + id, "diagnosis", null, null))
+                .toList();
+    }
+}
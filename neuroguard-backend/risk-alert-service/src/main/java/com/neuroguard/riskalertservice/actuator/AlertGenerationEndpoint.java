@@ -0,0 +1,35 @@
+package com.neuroguard.riskalertservice.actuator;
+
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import com.neuroguard.riskalertservice.service.GenerationRunJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/alertgeneration – live progress of the current run and the latest journal entries
+@Component
+@Endpoint(id = "alertgeneration")
+@RequiredArgsConstructor
+public class AlertGenerationEndpoint {
+
+    private final GenerationRunJournal runJournal;
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        GenerationRun current = runJournal.currentRun().orElse(null);
+        progress.put("running", current != null);
+        if (current != null) {
+            progress.put("current", current);
+            progress.put("patientsPerSecond", runJournal.currentPatientsPerSecond());
+            progress.put("percentDone", current.getPatientsTotal() == 0 ? 0
+                    : Math.min(100, 100 * (current.getPatientsProcessed() + current.getFailures()) / current.getPatientsTotal()));
+        }
+        progress.put("recent", runJournal.recentRuns());
+        return progress;
+    }
+}
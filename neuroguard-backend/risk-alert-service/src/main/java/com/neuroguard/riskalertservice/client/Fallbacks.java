@@ -0,0 +1,15 @@
+package com.neuroguard.riskalertservice.client;
+
+import java.util.concurrent.ExecutionException;
+
+final class Fallbacks {
+
+    private Fallbacks() {
+    }
+
+    // Original failure of a call made through a circuit breaker, which hands it over wrapped in an ExecutionException
+    static RuntimeException propagate(Throwable cause) {
+        Throwable failure = cause instanceof ExecutionException && cause.getCause() != null ? cause.getCause() : cause;
+        return failure instanceof RuntimeException runtime ? runtime : new RuntimeException(failure);
+    }
+}
@@ -0,0 +1,71 @@
+package com.neuroguard.riskalertservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummaryRequest;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the NDJSON summary stream of medical-history-service line by line,
+ * so thousands of histories arrive in a single round trip.
+ */
+@Component
+@RequiredArgsConstructor
+public class MedicalHistoryBulkReader {
+
+    private final MedicalHistoryClient medicalHistoryClient;
+    private final ObjectMapper objectMapper;
+
+    public List<MedicalHistorySummary> getSummaries(List<Long> patientIds) {
+        MedicalHistorySummaryRequest request = new MedicalHistorySummaryRequest();
+        request.setPatientIds(patientIds);
+        return read(request);
+    }
+
+    public List<MedicalHistorySummary> getSummariesAfter(Long afterPatientId, int limit) {
+        MedicalHistorySummaryRequest request = new MedicalHistorySummaryRequest();
+        request.setAfterPatientId(afterPatientId);
+        request.setLimit(limit);
+        return read(request);
+    }
+
+    // One page of the change feed after the (updatedAt, id) cursor, oldest first
+    public List<MedicalHistorySummary> getSummariesChangedSince(LocalDateTime since, Long afterId, int limit) {
+        MedicalHistorySummaryRequest request = new MedicalHistorySummaryRequest();
+        request.setChangedSince(since);
+        request.setChangedAfterId(afterId);
+        request.setLimit(limit);
+        return read(request);
+    }
+
+    private List<MedicalHistorySummary> read(MedicalHistorySummaryRequest request) {
+        try (Response response = medicalHistoryClient.streamSummaries(request)) {
+            if (response.status() >= 300 || response.body() == null) {
+                throw new RuntimeException("Bulk summary request failed with status " + response.status());
+            }
+            List<MedicalHistorySummary> summaries = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body().asInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        summaries.add(objectMapper.readValue(line, MedicalHistorySummary.class));
+                    }
+                }
+            }
+            return summaries;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read medical history summaries", e);
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.neuroguard.riskalertservice.client;
 
 import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummaryRequest;
 import com.neuroguard.riskalertservice.dto.UserDto;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "medical-history-service", path = "/api/caregiver/medical-history")
+@FeignClient(name = "medical-history-service", fallbackFactory = MedicalHistoryClientFallbackFactory.class)
 public interface MedicalHistoryClient {
 
-    @GetMapping("/{patientId}")
+    @GetMapping("/api/caregiver/medical-history/{patientId}")
     MedicalHistorySummary getMedicalHistoryByPatientId(@PathVariable("patientId") Long patientId);
 
-    @GetMapping("/patients")
+    @GetMapping("/api/caregiver/medical-history/patients")
     List<UserDto> getAssignedPatientsForCaregiver();  // will be called with caregiver ID in header
-}
\ No newline at end of file
+
+    // NDJSON stream, one MedicalHistorySummary per line – read it with MedicalHistoryBulkReader
+    @PostMapping(value = "/api/internal/medical-history/summaries", produces = "application/x-ndjson")
+    Response streamSummaries(@RequestBody MedicalHistorySummaryRequest request);
+}
@@ -0,0 +1,38 @@
+package com.neuroguard.riskalertservice.client;
+
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummaryRequest;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import feign.Response;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Used when a medical-history-service call fails or its circuit breaker is open. There is no sensible
+ * substitute for medical data, so every call fails with the original error – immediately while the breaker is open.
+ */
+@Component
+public class MedicalHistoryClientFallbackFactory implements FallbackFactory<MedicalHistoryClient> {
+
+    @Override
+    public MedicalHistoryClient create(Throwable cause) {
+        return new MedicalHistoryClient() {
+            @Override
+            public MedicalHistorySummary getMedicalHistoryByPatientId(Long patientId) {
+                throw Fallbacks.propagate(cause);
+            }
+
+            @Override
+            public List<UserDto> getAssignedPatientsForCaregiver() {
+                throw Fallbacks.propagate(cause);
+            }
+
+            @Override
+            public Response streamSummaries(MedicalHistorySummaryRequest request) {
+                throw Fallbacks.propagate(cause);
+            }
+        };
+    }
+}
@@ -4,15 +4,20 @@ import com.neuroguard.riskalertservice.dto.UserDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "user-service", path = "/users")
+@FeignClient(name = "user-service", path = "/users", fallbackFactory = UserServiceClientFallbackFactory.class)
 public interface UserServiceClient {
 
     @GetMapping("/{id}")
     UserDto getUserById(@PathVariable("id") Long id);
 
+    @PostMapping("/batch")
+    List<UserDto> getUsersByIds(@RequestBody List<Long> ids);
+
     @GetMapping("/role/{role}")
     List<UserDto> getUsersByRole(@PathVariable("role") String role);
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.neuroguard.riskalertservice.client;
+
+import com.neuroguard.riskalertservice.dto.UserDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Used when a user-service call fails or its circuit breaker is open. Name lookups degrade to
+ * "Unknown" right away; calls whose result matters (existence checks, the patient list) still fail,
+ * just without waiting on the slow service.
+ */
+@Component
+public class UserServiceClientFallbackFactory implements FallbackFactory<UserServiceClient> {
+
+    private static final Logger log = LoggerFactory.getLogger(UserServiceClientFallbackFactory.class);
+
+    @Override
+    public UserServiceClient create(Throwable cause) {
+        return new UserServiceClient() {
+            @Override
+            public UserDto getUserById(Long id) {
+                throw Fallbacks.propagate(cause);
+            }
+
+            @Override
+            public List<UserDto> getUsersByIds(List<Long> ids) {
+                log.warn("user-service unavailable, {} users left unresolved: {}", ids.size(), cause.toString());
+                return List.of();
+            }
+
+            @Override
+            public List<UserDto> getUsersByRole(String role) {
+                throw Fallbacks.propagate(cause);
+            }
+        };
+    }
+}
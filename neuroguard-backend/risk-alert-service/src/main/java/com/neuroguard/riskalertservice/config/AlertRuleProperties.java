@@ -0,0 +1,33 @@
+package com.neuroguard.riskalertservice.config;
+
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alert rules declared under {@code alert.rules} in application.yaml.
+ * They are compiled once at startup by {@link com.neuroguard.riskalertservice.rules.AlertRuleRegistry}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "alert")
+public class AlertRuleProperties {
+
+    private List<RuleDefinition> rules = new ArrayList<>();
+
+    @Data
+    public static class RuleDefinition {
+        private String id;                  // stable rule identifier, e.g. "severe-progression"
+        private String type;                // rule type understood by AlertRuleFactory
+        private AlertSeverity severity;     // INFO, WARNING, CRITICAL
+        private String message;             // may contain a single {value} placeholder
+        private boolean enabled = true;
+        private Map<String, String> params = new HashMap<>();
+    }
+}
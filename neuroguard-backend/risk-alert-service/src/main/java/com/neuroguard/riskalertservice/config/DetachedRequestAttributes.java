@@ -0,0 +1,69 @@
+package com.neuroguard.riskalertservice.config;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request context for work that outlives its HTTP request (background generation jobs). It keeps
+ * only the caller's Authorization header, which {@link FeignClientInterceptor} forwards as usual.
+ */
+public class DetachedRequestAttributes implements RequestAttributes {
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    // Snapshot of the current request's credentials, safe to use after the request completed
+    public static DetachedRequestAttributes capture() {
+        DetachedRequestAttributes detached = new DetachedRequestAttributes();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletAttributes) {
+            String authHeader = servletAttributes.getRequest().getHeader(FeignClientInterceptor.AUTHORIZATION_HEADER);
+            if (authHeader != null) {
+                detached.setAttribute(FeignClientInterceptor.AUTHORIZATION_HEADER, authHeader, SCOPE_REQUEST);
+            }
+        }
+        return detached;
+    }
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public String[] getAttributeNames(int scope) {
+        return attributes.keySet().toArray(String[]::new);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        // nothing is destroyed with a detached context
+    }
+
+    @Override
+    public Object resolveReference(String key) {
+        return null;
+    }
+
+    @Override
+    public String getSessionId() {
+        return "";
+    }
+
+    @Override
+    public Object getSessionMutex() {
+        return this;
+    }
+}
@@ -4,23 +4,28 @@ import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Component
 public class FeignClientInterceptor implements RequestInterceptor {
 
-    private static final String AUTHORIZATION_HEADER = "Authorization";
+    static final String AUTHORIZATION_HEADER = "Authorization";
 
     @Override
     public void apply(RequestTemplate template) {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes != null) {
-            HttpServletRequest request = attributes.getRequest();
-            String authHeader = request.getHeader(AUTHORIZATION_HEADER);
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                template.header(AUTHORIZATION_HEADER, authHeader);
-            }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        String authHeader = null;
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            authHeader = request.getHeader(AUTHORIZATION_HEADER);
+        } else if (attributes != null) {
+            // Background job running on behalf of an earlier request
+            authHeader = (String) attributes.getAttribute(AUTHORIZATION_HEADER, RequestAttributes.SCOPE_REQUEST);
+        }
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            template.header(AUTHORIZATION_HEADER, authHeader);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.neuroguard.riskalertservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Outbound calls to user-service and medical-history-service.
+ * <p>
+ * Each downstream service gets one circuit breaker and one bulkhead, named after its Feign client
+ * ({@code resilience4j.*.instances.user-service} etc.), instead of one per method. Timeouts, pool sizes
+ * and thresholds live in application.yaml. Breaker, bulkhead and connection pool state are published as
+ * {@code resilience4j.*} and {@code httpcomponents.httpclient.pool.*} meters.
+ */
+@Configuration
+public class FeignResilienceConfig {
+
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+
+    // The pool is created by the OpenFeign auto-configuration, after this class is processed
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
@@ -1,13 +1,20 @@
 package com.neuroguard.riskalertservice.controller;
 
+import com.neuroguard.riskalertservice.dto.AlertPage;
+import com.neuroguard.riskalertservice.dto.AlertQuery;
 import com.neuroguard.riskalertservice.dto.AlertResponse;
+import com.neuroguard.riskalertservice.dto.AlertSummaryResponse;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
 import com.neuroguard.riskalertservice.service.AlertService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -24,4 +31,32 @@ public class CaregiverAlertController {
         List<AlertResponse> alerts = alertService.getAlertsForCaregiverPatients(caregiverId);
         return ResponseEntity.ok(alerts);
     }
+
+    @GetMapping("/page")
+    public ResponseEntity<AlertPage> getAssignedPatientsAlertPage(AlertQuery query, HttpServletRequest request) {
+        Long caregiverId = (Long) request.getAttribute("userId");
+        return ResponseEntity.ok(alertService.getAlertPageForCaregiverPatients(caregiverId, query));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<AlertSummaryResponse>> getAssignedPatientsAlertSummaries(HttpServletRequest request) {
+        Long caregiverId = (Long) request.getAttribute("userId");
+        return ResponseEntity.ok(alertService.getAlertSummariesForCaregiverPatients(caregiverId));
+    }
+
+    // Most severe open alerts of the assigned patients first
+    @GetMapping("/triage")
+    public ResponseEntity<List<AlertResponse>> getAssignedPatientsTriageAlerts(@RequestParam(required = false) AlertSeverity minSeverity,
+                                                                               @RequestParam(required = false) Integer limit,
+                                                                               HttpServletRequest request) {
+        Long caregiverId = (Long) request.getAttribute("userId");
+        return ResponseEntity.ok(alertService.getTriageAlertsForCaregiverPatients(caregiverId, minSeverity, limit));
+    }
+
+    // Live alert changes for the assigned patients, replaces polling
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAssignedPatientsAlerts(HttpServletRequest request) {
+        Long caregiverId = (Long) request.getAttribute("userId");
+        return alertService.streamAlertsForCaregiverPatients(caregiverId);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.neuroguard.riskalertservice.controller;
 
+import com.neuroguard.riskalertservice.dto.AlertPage;
+import com.neuroguard.riskalertservice.dto.AlertQuery;
 import com.neuroguard.riskalertservice.dto.AlertResponse;
 import com.neuroguard.riskalertservice.service.AlertService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,4 +27,18 @@ public class PatientAlertController {
         List<AlertResponse> alerts = alertService.getAlertsForPatient(patientId, patientId, role);
         return ResponseEntity.ok(alerts);
     }
+
+    @GetMapping("/page")
+    public ResponseEntity<AlertPage> getMyAlertPage(AlertQuery query, HttpServletRequest request) {
+        Long patientId = (Long) request.getAttribute("userId");
+        String role = (String) request.getAttribute("userRole");
+        return ResponseEntity.ok(alertService.getAlertPageForPatient(patientId, patientId, role, query));
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<AlertPage> getMyArchivedAlerts(AlertQuery query, HttpServletRequest request) {
+        Long patientId = (Long) request.getAttribute("userId");
+        String role = (String) request.getAttribute("userRole");
+        return ResponseEntity.ok(alertService.getArchivedAlertPageForPatient(patientId, patientId, role, query));
+    }
 }
\ No newline at end of file
@@ -1,15 +1,27 @@
 package com.neuroguard.riskalertservice.controller;
 
+import com.neuroguard.riskalertservice.dto.AlertPage;
+import com.neuroguard.riskalertservice.dto.AlertQuery;
 import com.neuroguard.riskalertservice.dto.AlertRequest;
 import com.neuroguard.riskalertservice.dto.AlertResponse;
+import com.neuroguard.riskalertservice.dto.AlertSummaryResponse;
+import com.neuroguard.riskalertservice.dto.BulkAlertRequest;
+import com.neuroguard.riskalertservice.dto.BulkAlertResult;
+import com.neuroguard.riskalertservice.dto.GenerationJobRequest;
+import com.neuroguard.riskalertservice.dto.GenerationJobStatus;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.service.AlertGenerationJobService;
 import com.neuroguard.riskalertservice.service.AlertService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -18,11 +30,28 @@ import java.util.List;
 public class ProviderAlertController {
 
     private final AlertService alertService;
+    private final AlertGenerationJobService generationJobService;
 
+    // Starts a background run (all patients, or only the given patientIds) and returns its job handle
     @PostMapping("/generate")
-    public ResponseEntity<String> triggerGeneration() {
-        alertService.generateAlertsForAllPatients();
-        return ResponseEntity.ok("Alert generation triggered");
+    public ResponseEntity<GenerationJobStatus> triggerGeneration(@Valid @RequestBody(required = false) GenerationJobRequest request) {
+        GenerationJobStatus job = generationJobService.submit(request != null ? request.getPatientIds() : null);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/provider/alerts/generate/" + job.getJobId()))
+                .body(job);
+    }
+
+    @PostMapping("/generate/patient/{patientId}")
+    public ResponseEntity<GenerationJobStatus> triggerGenerationForPatient(@PathVariable Long patientId) {
+        GenerationJobStatus job = generationJobService.submit(List.of(patientId));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/provider/alerts/generate/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/generate/{jobId}")
+    public ResponseEntity<GenerationJobStatus> getGenerationJob(@PathVariable String jobId) {
+        return ResponseEntity.of(generationJobService.getStatus(jobId));
     }
 
     @PostMapping
@@ -58,9 +87,61 @@ public class ProviderAlertController {
         return ResponseEntity.ok(response);
     }
 
+    // Bulk variants: one statement for a list of ids or a patient filter, answering with the count only
+    @PostMapping("/resolve")
+    public ResponseEntity<BulkAlertResult> resolveAlerts(@Valid @RequestBody BulkAlertRequest request,
+                                                         HttpServletRequest httpRequest) {
+        Long providerId = (Long) httpRequest.getAttribute("userId");
+        return ResponseEntity.ok(alertService.resolveAlerts(request, providerId));
+    }
+
+    @PostMapping("/delete")
+    public ResponseEntity<BulkAlertResult> deleteAlerts(@Valid @RequestBody BulkAlertRequest request,
+                                                        HttpServletRequest httpRequest) {
+        Long providerId = (Long) httpRequest.getAttribute("userId");
+        return ResponseEntity.ok(alertService.deleteAlerts(request, providerId));
+    }
+
+    // Live alert changes, optionally limited to ?patientId=1&patientId=2
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(@RequestParam(name = "patientId", required = false) List<Long> patientIds) {
+        return alertService.streamAlertsForProvider(patientIds);
+    }
+
+    // Open-alert counts by severity per patient: ?patientId=1&patientId=2, or every patient when omitted
+    @GetMapping("/summary")
+    public ResponseEntity<List<AlertSummaryResponse>> getAlertSummaries(@RequestParam(name = "patientId", required = false) List<Long> patientIds) {
+        return ResponseEntity.ok(alertService.getAlertSummaries(patientIds));
+    }
+
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<List<AlertResponse>> getAlertsByPatient(@PathVariable Long patientId) {
         List<AlertResponse> alerts = alertService.getAlertsByPatientId(patientId);
         return ResponseEntity.ok(alerts);
     }
+
+    @GetMapping("/patient/{patientId}/page")
+    public ResponseEntity<AlertPage> getAlertPageByPatient(@PathVariable Long patientId, AlertQuery query) {
+        return ResponseEntity.ok(alertService.getAlertPageByPatientId(patientId, query));
+    }
+
+    // Top open alerts of the given patients, most severe first: ?patientId=1&patientId=2&minSeverity=WARNING&limit=20
+    @GetMapping("/triage")
+    public ResponseEntity<List<AlertResponse>> getTriageAlerts(@RequestParam(name = "patientId") List<Long> patientIds,
+                                                               @RequestParam(required = false) AlertSeverity minSeverity,
+                                                               @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(alertService.getTriageAlerts(patientIds, minSeverity, limit));
+    }
+
+    @GetMapping("/patient/{patientId}/triage")
+    public ResponseEntity<List<AlertResponse>> getTriageAlertsByPatient(@PathVariable Long patientId,
+                                                                        @RequestParam(required = false) AlertSeverity minSeverity,
+                                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(alertService.getTriageAlerts(List.of(patientId), minSeverity, limit));
+    }
+
+    @GetMapping("/patient/{patientId}/history")
+    public ResponseEntity<AlertPage> getArchivedAlertsByPatient(@PathVariable Long patientId, AlertQuery query) {
+        return ResponseEntity.ok(alertService.getArchivedAlertPage(patientId, query));
+    }
 }
\ No newline at end of file
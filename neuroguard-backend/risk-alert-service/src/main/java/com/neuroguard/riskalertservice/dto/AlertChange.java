@@ -0,0 +1,16 @@
+package com.neuroguard.riskalertservice.dto;
+
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+
+import java.time.LocalDateTime;
+
+// What listeners of an alert change need to know about one alert (also selected directly by the bulk operations)
+public record AlertChange(Long id, Long patientId, AlertSeverity severity, boolean resolved, String ruleId,
+                          LocalDateTime createdAt) {
+
+    public static AlertChange of(Alert alert) {
+        return new AlertChange(alert.getId(), alert.getPatientId(), alert.getSeverity(), alert.isResolved(),
+                alert.getRuleId(), alert.getCreatedAt());
+    }
+}
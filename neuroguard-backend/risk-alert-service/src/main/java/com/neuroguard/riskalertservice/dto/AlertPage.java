@@ -0,0 +1,15 @@
+package com.neuroguard.riskalertservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertPage {
+    private List<AlertResponse> items;
+    private String nextCursor;       // null on the last page
+}
@@ -0,0 +1,23 @@
+package com.neuroguard.riskalertservice.dto;
+
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Filters and keyset position for paged alert listings (bound from query parameters)
+@Data
+public class AlertQuery {
+    private AlertSeverity severity;
+    private Boolean resolved;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;      // inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;        // exclusive
+
+    private String cursor;           // nextCursor of the previous page, absent for the first page
+    private Integer size;
+}
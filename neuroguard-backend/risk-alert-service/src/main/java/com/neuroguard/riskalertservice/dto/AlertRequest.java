@@ -1,5 +1,6 @@
 package com.neuroguard.riskalertservice.dto;
 
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -12,5 +13,5 @@ public class AlertRequest {
     @NotBlank
     private String message;
 
-    private String severity; // e.g., "INFO", "WARNING", "CRITICAL"
+    private AlertSeverity severity; // INFO, WARNING, CRITICAL
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.neuroguard.riskalertservice.dto;
 
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -9,7 +10,7 @@ public class AlertResponse {
     private Long patientId;
     private String patientName;
     private String message;
-    private String severity;
+    private AlertSeverity severity;
     private boolean resolved;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
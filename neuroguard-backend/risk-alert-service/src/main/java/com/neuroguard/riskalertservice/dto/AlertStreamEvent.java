@@ -0,0 +1,17 @@
+package com.neuroguard.riskalertservice.dto;
+
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Payload of an alert stream event; clients fetch the full alert by id when they need it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertStreamEvent {
+    private Long id;
+    private Long patientId;
+    private String patientName;      // "Unknown" until the patient is in the user cache
+    private AlertSeverity severity;
+}
@@ -0,0 +1,14 @@
+package com.neuroguard.riskalertservice.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AlertSummaryResponse {
+    private Long patientId;
+    private int openCritical;
+    private int openWarning;
+    private int openInfo;
+    private LocalDateTime lastAlertAt;     // null if the patient never had an alert
+}
@@ -0,0 +1,20 @@
+package com.neuroguard.riskalertservice.dto;
+
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Targets of a bulk resolve/delete: explicit alertIds, or every alert of one patient matching the filters
+@Data
+public class BulkAlertRequest {
+    @Size(max = 1000, message = "At most 1000 alerts per request")
+    private List<Long> alertIds;
+
+    private Long patientId;            // required when alertIds is empty
+    private AlertSeverity severity;
+    private Boolean resolved;          // delete only; resolving always targets open alerts
+    private LocalDateTime before;      // createdAt exclusive upper bound
+}
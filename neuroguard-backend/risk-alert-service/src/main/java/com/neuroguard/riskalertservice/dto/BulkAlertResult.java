@@ -0,0 +1,12 @@
+package com.neuroguard.riskalertservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAlertResult {
+    private int count;               // alerts resolved or deleted
+}
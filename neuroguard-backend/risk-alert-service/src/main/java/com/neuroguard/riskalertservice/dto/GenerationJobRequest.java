@@ -0,0 +1,12 @@
+package com.neuroguard.riskalertservice.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GenerationJobRequest {
+    @Size(max = 1000, message = "At most 1000 patients per targeted run")
+    private List<Long> patientIds;     // empty or missing: every patient
+}
@@ -0,0 +1,22 @@
+package com.neuroguard.riskalertservice.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class GenerationJobStatus {
+    private String jobId;
+    private String status;             // QUEUED, RUNNING, COMPLETED, FAILED (ABANDONED: a run for all patients that was superseded)
+    private String scope;              // ALL or PATIENTS
+    private Integer patientsRequested; // null for ALL
+    private int patientsTotal;
+    private int patientsProcessed;
+    private int alertsCreated;
+    private int failures;
+    private double patientsPerSecond;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
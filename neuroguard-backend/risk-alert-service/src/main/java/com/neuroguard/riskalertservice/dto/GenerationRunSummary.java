@@ -0,0 +1,33 @@
+package com.neuroguard.riskalertservice.dto;
+
+import lombok.Data;
+
+@Data
+public class GenerationRunSummary {
+    private int patientsTotal;
+    private int patientsProcessed;
+    private int alertsCreated;
+    private int failures;
+    private long durationMs;
+
+    // Counts of consecutive parts of one run, e.g. the pages of the change feed
+    public GenerationRunSummary plus(GenerationRunSummary other) {
+        GenerationRunSummary sum = new GenerationRunSummary();
+        sum.setPatientsTotal(patientsTotal + other.patientsTotal);
+        sum.setPatientsProcessed(patientsProcessed + other.patientsProcessed);
+        sum.setAlertsCreated(alertsCreated + other.alertsCreated);
+        sum.setFailures(failures + other.failures);
+        sum.setDurationMs(durationMs + other.durationMs);
+        return sum;
+    }
+
+    public double getPatientsPerSecond() {
+        return durationMs == 0 ? patientsProcessed : patientsProcessed * 1000.0 / durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d patients processed, %d alerts created, %d failures in %d ms (%.1f patients/s)",
+                patientsProcessed, patientsTotal, alertsCreated, failures, durationMs, getPatientsPerSecond());
+    }
+}
@@ -2,10 +2,12 @@ package com.neuroguard.riskalertservice.dto;
 
 import lombok.Data;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 public class MedicalHistorySummary {
+    private Long id;                  // medical history id, tie-breaker of the change feed cursor
     private Long patientId;
     private String diagnosis;
     private LocalDate diagnosisDate;
@@ -19,4 +21,5 @@ public class MedicalHistorySummary {
     private String foodAllergies;
     private List<Long> caregiverIds;
     private List<Long> providerIds;
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
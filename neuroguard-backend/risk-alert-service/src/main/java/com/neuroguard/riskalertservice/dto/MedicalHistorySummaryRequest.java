@@ -0,0 +1,15 @@
+package com.neuroguard.riskalertservice.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class MedicalHistorySummaryRequest {
+    private List<Long> patientIds;   // explicit set of patients (takes precedence over the cursor)
+    private Long afterPatientId;     // cursor: return histories with patientId greater than this
+    private Integer limit;           // cursor page size (change feed: absent for the whole feed)
+    private LocalDateTime changedSince; // change feed: every history updated after this instant, oldest first
+    private Long changedAfterId;     // change feed: also histories updated exactly at changedSince with a greater id
+}
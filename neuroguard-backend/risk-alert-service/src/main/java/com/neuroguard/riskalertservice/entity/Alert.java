@@ -4,9 +4,20 @@ import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_alert_open_fingerprint", columnNames = {"patientId", "open_fingerprint"}),
+        indexes = {
+        @Index(name = "idx_alert_patient_created", columnList = "patientId, createdAt, id"),
+        @Index(name = "idx_alert_patient_resolved_created", columnList = "patientId, resolved, createdAt, id"),
+        @Index(name = "idx_alert_resolved_updated", columnList = "resolved, updatedAt"),
+        @Index(name = "idx_alert_patient_resolved_severity", columnList = "patientId, resolved, severity_level, createdAt")
+})
 @Data
 public class Alert {
     @Id
@@ -19,15 +30,40 @@ public class Alert {
     @Column(nullable = false, length = 500)
     private String message;
 
-    private String severity;          // INFO, WARNING, CRITICAL
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "severity_level")
+    private AlertSeverity severity;   // ordinal column; the old free-text "severity" column is copied over by LegacySeverityBackfill
 
     private boolean resolved = false;
 
     private Long createdBy;            // provider ID if manually created, null for auto-generated
 
+    @Column(length = 64)
+    private String ruleId;             // rule that generated the alert, null for manual alerts
+
+    // Hash of (rule identity, patient), null for manual alerts. The former "fingerprint" column hashed the message
+    // and is no longer written; LegacyFingerprintBackfill fills this one for open alerts created before it existed.
+    @Column(name = "rule_fingerprint", length = 64)
+    private String fingerprint;
+
+    // The fingerprint while the alert is open, NULL once resolved: the unique key allows one open alert per fingerprint
+    @Column(name = "open_fingerprint", insertable = false, updatable = false,
+            columnDefinition = "varchar(64) generated always as (case when resolved = false then rule_fingerprint end)")
+    private String openFingerprint;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // SHA-256 as hex. The message is not part of it, so a rule re-rendering its text (e.g. an age that went up) is the same alert.
+    public static String fingerprintOf(String ruleIdentity, Long patientId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((ruleIdentity + "|" + patientId).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.neuroguard.riskalertservice.entity;
+
+// Alert severity, stored by ordinal: declaration order is priority order, so ORDER BY severity DESC puts CRITICAL first
+public enum AlertSeverity {
+    INFO,
+    WARNING,
+    CRITICAL
+}
@@ -0,0 +1,37 @@
+package com.neuroguard.riskalertservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Resolved alert moved out of the hot alert table by the retention job; keeps its original id
+@Entity
+@Table(name = "alert_archive",
+        indexes = @Index(name = "idx_alert_archive_patient_created", columnList = "patientId, createdAt, id"))
+@Data
+public class ArchivedAlert {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long patientId;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "severity_level")
+    private AlertSeverity severity;
+
+    private Long createdBy;
+
+    @Column(length = 64)
+    private String ruleId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime resolvedAt;     // last update of the alert while it was resolved
+
+    private LocalDateTime archivedAt;
+}
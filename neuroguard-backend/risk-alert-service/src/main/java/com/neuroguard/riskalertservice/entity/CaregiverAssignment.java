@@ -0,0 +1,29 @@
+package com.neuroguard.riskalertservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Local copy of the caregiver -> patient assignments held by medical-history-service
+@Entity
+@Table(name = "caregiver_assignment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_caregiver_assignment", columnNames = {"caregiverId", "patientId"}),
+        indexes = @Index(name = "idx_caregiver_assignment_patient", columnList = "patientId"))
+@Data
+@NoArgsConstructor
+public class CaregiverAssignment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long caregiverId;
+
+    @Column(nullable = false)
+    private Long patientId;
+
+    public CaregiverAssignment(Long caregiverId, Long patientId) {
+        this.caregiverId = caregiverId;
+        this.patientId = patientId;
+    }
+}
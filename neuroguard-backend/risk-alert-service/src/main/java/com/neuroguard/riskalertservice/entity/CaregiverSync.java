@@ -0,0 +1,25 @@
+package com.neuroguard.riskalertservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marks a caregiver whose assignments were copied in full from medical-history-service, and when
+@Entity
+@Table(name = "caregiver_sync")
+@Data
+@NoArgsConstructor
+public class CaregiverSync {
+    @Id
+    private Long caregiverId;
+
+    @Column(nullable = false)
+    private LocalDateTime syncedAt;
+
+    public CaregiverSync(Long caregiverId, LocalDateTime syncedAt) {
+        this.caregiverId = caregiverId;
+        this.syncedAt = syncedAt;
+    }
+}
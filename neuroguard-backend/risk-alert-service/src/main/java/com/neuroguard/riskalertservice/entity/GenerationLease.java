@@ -0,0 +1,22 @@
+package com.neuroguard.riskalertservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Time-limited claim on a cluster-wide job; only the owner runs it until the lease expires or is released
+@Entity
+@Table(name = "generation_lease")
+@Data
+public class GenerationLease {
+    @Id
+    @Column(length = 64)
+    private String name;                    // e.g. "alert-generation-changes"
+
+    @Column(nullable = false)
+    private String owner;                   // instance id of the replica holding the lease
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
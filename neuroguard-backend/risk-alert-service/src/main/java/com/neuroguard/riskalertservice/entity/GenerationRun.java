@@ -0,0 +1,57 @@
+package com.neuroguard.riskalertservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Journal entry of one alert generation run, checkpointed while it runs so an interrupted run can resume
+@Entity
+@Table(name = "generation_run", indexes = @Index(name = "idx_generation_run_kind_status", columnList = "kind, status"))
+@Data
+public class GenerationRun {
+
+    public enum Kind {
+        FULL,           // every patient, all rules
+        TIME_BASED,     // every patient, calendar-driven rules only
+        CHANGES         // patients from the medical-history change feed
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED, ABANDONED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Kind kind;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    private Integer shardIndex;             // patient partition this run covered, 0 of 1 = every patient
+    private Integer shardCount;
+
+    private Long lastPatientId;             // checkpoint: every patient up to this id is done
+
+    private int attempts;                   // 1 + number of times the run was resumed
+
+    private int patientsTotal;
+    private int patientsProcessed;
+    private int alertsCreated;
+    private int failures;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime checkpointAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 500)
+    private String error;
+
+    @Version
+    private long version;                   // two replicas writing the same run: the later save fails
+}
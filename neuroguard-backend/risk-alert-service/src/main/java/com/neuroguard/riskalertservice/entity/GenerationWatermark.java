@@ -0,0 +1,20 @@
+package com.neuroguard.riskalertservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+public class GenerationWatermark {
+    @Id
+    private String name;                    // e.g. "medical-history-changes"
+
+    private LocalDateTime watermark;        // last medical-history updatedAt fully processed
+    private Long watermarkId;               // id of the last history processed at that updatedAt
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.neuroguard.riskalertservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Open-alert counts of one patient, kept up to date by AlertSummaryService in the same transaction as the alert change
+@Entity
+@Table(name = "patient_alert_summary")
+@Data
+public class PatientAlertSummary {
+    @Id
+    private Long patientId;
+
+    private int openCritical;
+
+    private int openWarning;
+
+    private int openInfo;               // also counts open alerts without a severity
+
+    private LocalDateTime lastAlertAt;  // creation time of the newest alert raised for the patient
+}
@@ -0,0 +1,84 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.rules.CandidateAlert;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts auto-generated alerts with JDBC batching. Hibernate cannot batch inserts for
+ * IDENTITY ids, so the generation pipeline writes through here instead of {@link AlertRepository#save}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AlertBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO alert (patient_id, message, severity_level, resolved, created_by, rule_id, rule_fingerprint, created_at, updated_at) " +
+            "VALUES (?, ?, ?, false, NULL, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the inserted rows as alerts carrying their generated ids
+    public List<Alert> insert(List<CandidateAlert> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.execute((ConnectionCallback<List<Alert>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                List<Alert> inserted = new ArrayList<>(candidates.size());
+                for (CandidateAlert candidate : candidates) {
+                    ps.setLong(1, candidate.patientId());
+                    ps.setString(2, candidate.message());
+                    if (candidate.severity() != null) {
+                        ps.setInt(3, candidate.severity().ordinal());
+                    } else {
+                        ps.setNull(3, Types.TINYINT);
+                    }
+                    if (candidate.ruleId() != null) {
+                        ps.setString(4, candidate.ruleId());
+                    } else {
+                        ps.setNull(4, Types.VARCHAR);
+                    }
+                    ps.setString(5, candidate.fingerprint());
+                    ps.setTimestamp(6, timestamp);
+                    ps.setTimestamp(7, timestamp);
+                    ps.addBatch();
+                    inserted.add(toAlert(candidate, now));
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < inserted.size() && keys.next(); i++) {
+                        inserted.get(i).setId(keys.getLong(1));
+                    }
+                }
+                return inserted;
+            }
+        });
+    }
+
+    private static Alert toAlert(CandidateAlert candidate, LocalDateTime now) {
+        Alert alert = new Alert();
+        alert.setPatientId(candidate.patientId());
+        alert.setMessage(candidate.message());
+        alert.setSeverity(candidate.severity());
+        alert.setRuleId(candidate.ruleId());
+        alert.setFingerprint(candidate.fingerprint());
+        alert.setCreatedAt(now);
+        alert.setUpdatedAt(now);
+        return alert;
+    }
+}
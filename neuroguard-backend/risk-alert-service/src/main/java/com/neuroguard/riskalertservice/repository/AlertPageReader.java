@@ -0,0 +1,105 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.dto.AlertCursor;
+import com.neuroguard.riskalertservice.dto.AlertQuery;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.ArchivedAlert;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keyset pages of live and archived alerts, newest first (createdAt DESC, id DESC).
+ * <p>
+ * The statement is built for the filters actually present, so every combination gets its own plan
+ * instead of one plan full of {@code :x IS NULL OR ...} branches, and the cursor is a row-value seek
+ * {@code (createdAt, id) < (:createdAt, :id)}. Each patient is read as its own range of
+ * idx_alert_patient_created (or idx_alert_patient_resolved_created when filtering on resolved) that
+ * stops after {@code limit} rows; the per-patient pages are merged here. That keeps a page across many
+ * patients at most {@code patients × limit} index entries, instead of sorting all their alerts.
+ * <p>
+ * Archived alerts take the same filters and cursor, read from idx_alert_archive_patient_created.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AlertPageReader {
+
+    private static final Comparator<Alert> NEWEST_FIRST = Comparator
+            .comparing(Alert::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Alert::getId, Comparator.reverseOrder());
+
+    private final EntityManager entityManager;
+
+    // At most limit alerts of the patients after the cursor (null for the first page)
+    public List<Alert> findPage(Collection<Long> patientIds, AlertQuery filters, AlertCursor after, int limit) {
+        if (patientIds.size() == 1) {
+            return findPage(patientIds.iterator().next(), filters, after, limit);
+        }
+        List<Alert> merged = new ArrayList<>();
+        for (Long patientId : patientIds) {
+            merged.addAll(findPage(patientId, filters, after, limit));
+        }
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    // Every archived alert is resolved, so resolved=false matches none and resolved=true all of them
+    public List<ArchivedAlert> findArchivedPage(Long patientId, AlertQuery filters, AlertCursor after, int limit) {
+        if (Boolean.FALSE.equals(filters.getResolved())) {
+            return List.of();
+        }
+        return findPage(ArchivedAlert.class, patientId, filters, false, after, limit);
+    }
+
+    private List<Alert> findPage(Long patientId, AlertQuery filters, AlertCursor after, int limit) {
+        return findPage(Alert.class, patientId, filters, filters.getResolved() != null, after, limit);
+    }
+
+    private <T> List<T> findPage(Class<T> entity, Long patientId, AlertQuery filters, boolean byResolved,
+                                 AlertCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT a FROM " + entity.getSimpleName() + " a WHERE a.patientId = :patientId");
+        if (byResolved) {
+            jpql.append(" AND a.resolved = :resolved");
+        }
+        if (filters.getSeverity() != null) {
+            jpql.append(" AND a.severity = :severity");
+        }
+        if (filters.getFrom() != null) {
+            jpql.append(" AND a.createdAt >= :from");
+        }
+        if (filters.getTo() != null) {
+            jpql.append(" AND a.createdAt < :to");
+        }
+        if (after != null) {
+            jpql.append(" AND (a.createdAt, a.id) < (:cursorCreatedAt, :cursorId)");
+        }
+        jpql.append(" ORDER BY a.createdAt DESC, a.id DESC");
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), entity)
+                .setParameter("patientId", patientId)
+                .setMaxResults(limit);
+        if (byResolved) {
+            query.setParameter("resolved", filters.getResolved());
+        }
+        if (filters.getSeverity() != null) {
+            query.setParameter("severity", filters.getSeverity());
+        }
+        if (filters.getFrom() != null) {
+            query.setParameter("from", filters.getFrom());
+        }
+        if (filters.getTo() != null) {
+            query.setParameter("to", filters.getTo());
+        }
+        if (after != null) {
+            query.setParameter("cursorCreatedAt", after.createdAt());
+            query.setParameter("cursorId", after.id());
+        }
+        return query.getResultList();
+    }
+}
@@ -1,10 +1,18 @@
 package com.neuroguard.riskalertservice.repository;
 
+import com.neuroguard.riskalertservice.dto.AlertChange;
 import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AlertRepository extends JpaRepository<Alert, Long> {
@@ -13,5 +21,73 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     @Query("SELECT a FROM Alert a WHERE a.patientId IN :patientIds")
     List<Alert> findByPatientIdIn(@Param("patientIds") List<Long> patientIds);
 
-    boolean existsByPatientIdAndMessageAndResolvedFalse(Long patientId, String message);
+    // Triage: a patient's open alerts, most severe first, newest first within a severity.
+    // Reads idx_alert_patient_resolved_severity backwards (InnoDB appends the id), so LIMIT stops after K index entries.
+    @Query("SELECT a FROM Alert a WHERE a.patientId = :patientId AND a.resolved = false " +
+            "AND (:minSeverity IS NULL OR a.severity >= :minSeverity) " +
+            "ORDER BY a.severity DESC, a.createdAt DESC, a.id DESC")
+    List<Alert> findTopOpenBySeverity(@Param("patientId") Long patientId,
+                                      @Param("minSeverity") AlertSeverity minSeverity,
+                                      Pageable pageable);
+
+    // Same order across several patients: one index range per patient, only their open alerts get sorted
+    @Query("SELECT a FROM Alert a WHERE a.patientId IN :patientIds AND a.resolved = false " +
+            "AND (:minSeverity IS NULL OR a.severity >= :minSeverity) " +
+            "ORDER BY a.severity DESC, a.createdAt DESC, a.id DESC")
+    List<Alert> findTopOpenBySeverityForPatients(@Param("patientIds") Collection<Long> patientIds,
+                                                 @Param("minSeverity") AlertSeverity minSeverity,
+                                                 Pageable pageable);
+
+    // Bulk operations lock their targets and read only what the change event needs, then change them with one statement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.neuroguard.riskalertservice.dto.AlertChange(a.id, a.patientId, a.severity, a.resolved, a.ruleId, a.createdAt) " +
+            "FROM Alert a WHERE a.id IN :ids")
+    List<AlertChange> lockChangesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.neuroguard.riskalertservice.dto.AlertChange(a.id, a.patientId, a.severity, a.resolved, a.ruleId, a.createdAt) " +
+            "FROM Alert a WHERE a.patientId = :patientId " +
+            "AND (:severity IS NULL OR a.severity = :severity) " +
+            "AND (:resolved IS NULL OR a.resolved = :resolved) " +
+            "AND (:before IS NULL OR a.createdAt < :before)")
+    List<AlertChange> lockChangesMatching(@Param("patientId") Long patientId,
+                                         @Param("severity") AlertSeverity severity,
+                                         @Param("resolved") Boolean resolved,
+                                         @Param("before") LocalDateTime before);
+
+    // Clears the persistence context so entities loaded above are not flushed back over the update
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.resolved = true, a.updatedAt = :now WHERE a.id IN :ids AND a.resolved = false")
+    int resolveByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.resolved = true, a.updatedAt = :now WHERE a.patientId = :patientId AND a.resolved = false " +
+            "AND (:severity IS NULL OR a.severity = :severity) " +
+            "AND (:before IS NULL OR a.createdAt < :before)")
+    int resolveMatching(@Param("patientId") Long patientId,
+                        @Param("severity") AlertSeverity severity,
+                        @Param("before") LocalDateTime before,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Alert a WHERE a.patientId = :patientId " +
+            "AND (:severity IS NULL OR a.severity = :severity) " +
+            "AND (:resolved IS NULL OR a.resolved = :resolved) " +
+            "AND (:before IS NULL OR a.createdAt < :before)")
+    int deleteMatching(@Param("patientId") Long patientId,
+                       @Param("severity") AlertSeverity severity,
+                       @Param("resolved") Boolean resolved,
+                       @Param("before") LocalDateTime before);
+
+    // Retention: resolved alerts last touched before the cutoff, oldest ids first
+    @Query("SELECT a.id FROM Alert a WHERE a.resolved = true AND a.updatedAt < :cutoff ORDER BY a.id")
+    List<Long> findResolvedIdsUpdatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Alert a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Open-alert fingerprints of a batch of patients, read from uk_alert_open_fingerprint alone
+    @Query("SELECT a.openFingerprint FROM Alert a WHERE a.patientId IN :patientIds AND a.openFingerprint IS NOT NULL")
+    List<String> findOpenFingerprints(@Param("patientIds") Collection<Long> patientIds);
 }
\ No newline at end of file
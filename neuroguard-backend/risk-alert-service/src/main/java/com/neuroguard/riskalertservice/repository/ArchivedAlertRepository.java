@@ -0,0 +1,19 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.ArchivedAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ArchivedAlertRepository extends JpaRepository<ArchivedAlert, Long> {
+
+    @Modifying
+    @Query("INSERT INTO ArchivedAlert (id, patientId, message, severity, createdBy, ruleId, createdAt, resolvedAt, archivedAt) " +
+            "SELECT a.id, a.patientId, a.message, a.severity, a.createdBy, a.ruleId, a.createdAt, a.updatedAt, :archivedAt " +
+            "FROM Alert a WHERE a.id IN :ids")
+    int copyFromAlerts(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,19 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.CaregiverAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CaregiverAssignmentRepository extends JpaRepository<CaregiverAssignment, Long> {
+
+    @Query("SELECT c.patientId FROM CaregiverAssignment c WHERE c.caregiverId = :caregiverId")
+    List<Long> findPatientIdsByCaregiverId(@Param("caregiverId") Long caregiverId);
+
+    List<CaregiverAssignment> findByCaregiverId(Long caregiverId);
+
+    List<CaregiverAssignment> findByPatientIdIn(Collection<Long> patientIds);
+}
@@ -0,0 +1,7 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.CaregiverSync;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CaregiverSyncRepository extends JpaRepository<CaregiverSync, Long> {
+}
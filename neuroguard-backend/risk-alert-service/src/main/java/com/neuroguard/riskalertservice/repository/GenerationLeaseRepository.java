@@ -0,0 +1,33 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.GenerationLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface GenerationLeaseRepository extends JpaRepository<GenerationLease, String> {
+
+    // Takes the lease if it expired or we already hold it – a single atomic row update
+    @Modifying
+    @Query("UPDATE GenerationLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int takeOver(@Param("name") String name, @Param("owner") String owner,
+                 @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    // Plain insert so that a concurrent first claim fails on the primary key instead of being merged
+    @Modifying
+    @Query(value = "INSERT INTO generation_lease (name, owner, expires_at) VALUES (:name, :owner, :expiresAt)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Heartbeat of the holder; 0 rows means another replica took the lease over
+    @Modifying
+    @Query("UPDATE GenerationLease l SET l.expiresAt = :expiresAt WHERE l.name = :name AND l.owner = :owner")
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE GenerationLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
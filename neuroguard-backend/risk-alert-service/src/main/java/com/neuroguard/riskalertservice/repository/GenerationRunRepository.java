@@ -0,0 +1,14 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GenerationRunRepository extends JpaRepository<GenerationRun, Long> {
+
+    List<GenerationRun> findByKindAndStatusInOrderByIdDesc(GenerationRun.Kind kind, Collection<GenerationRun.Status> statuses);
+
+    List<GenerationRun> findTop10ByOrderByIdDesc();
+}
@@ -0,0 +1,7 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.GenerationWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GenerationWatermarkRepository extends JpaRepository<GenerationWatermark, String> {
+}
@@ -0,0 +1,64 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Severity used to be a free-text column ({@code severity}); it is now the ordinal {@code severity_level}.
+ * ddl-auto only adds the new column, so on startup rows that still lack a level are filled from the old text.
+ * Idempotent and a no-op on schemas created after the change, so every replica can run it.
+ */
+@Component
+@RequiredArgsConstructor
+public class LegacySeverityBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacySeverityBackfill.class);
+    private static final List<String> TABLES = List.of("alert", "alert_archive");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (String table : TABLES) {
+            if (!hasLegacyColumn(table)) {
+                continue;
+            }
+            int updated = jdbcTemplate.update("UPDATE " + table + " SET severity_level = " + levelCase() +
+                    " WHERE severity_level IS NULL AND severity IS NOT NULL");
+            if (updated > 0) {
+                log.info("Backfilled severity_level of {} rows in {}", updated, table);
+            }
+        }
+    }
+
+    private boolean hasLegacyColumn(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upper = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    upper ? table.toUpperCase() : table, upper ? "SEVERITY" : "severity")) {
+                return columns.next();
+            }
+        }));
+    }
+
+    // CASE UPPER(TRIM(severity)) WHEN 'INFO' THEN 0 ... END; unknown text stays NULL
+    private static String levelCase() {
+        StringBuilder sql = new StringBuilder("CASE UPPER(TRIM(severity))");
+        for (AlertSeverity severity : AlertSeverity.values()) {
+            sql.append(" WHEN '").append(severity.name()).append("' THEN ").append(severity.ordinal());
+        }
+        return sql.append(" END").toString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.PatientAlertSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PatientAlertSummaryRepository extends JpaRepository<PatientAlertSummary, Long> {
+    List<PatientAlertSummary> findByPatientIdIn(Collection<Long> patientIds);
+
+    List<PatientAlertSummary> findAllByOrderByPatientId();
+}
@@ -0,0 +1,83 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes {@code patient_alert_summary} with MySQL upserts, so concurrent alert changes of the same
+ * patient add up instead of overwriting each other and a patient's first alert needs no separate insert.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PatientAlertSummaryWriter {
+
+    private static final String APPLY_SQL =
+            "INSERT INTO patient_alert_summary (patient_id, open_critical, open_warning, open_info, last_alert_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "open_critical = GREATEST(open_critical + VALUES(open_critical), 0), " +
+            "open_warning = GREATEST(open_warning + VALUES(open_warning), 0), " +
+            "open_info = GREATEST(open_info + VALUES(open_info), 0), " +
+            // GREATEST is NULL when either side is
+            "last_alert_at = COALESCE(GREATEST(last_alert_at, VALUES(last_alert_at)), VALUES(last_alert_at), last_alert_at)";
+
+    // Recounts from the alert table; open alerts without a severity count as INFO like in the incremental path
+    private static final String REBUILD_SQL =
+            "INSERT INTO patient_alert_summary (patient_id, open_critical, open_warning, open_info, last_alert_at) " +
+            "SELECT a.patient_id, " +
+            "SUM(CASE WHEN a.resolved = false AND a.severity_level = :critical THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.resolved = false AND a.severity_level = :warning THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.resolved = false AND (a.severity_level = :info OR a.severity_level IS NULL) THEN 1 ELSE 0 END), " +
+            "MAX(a.created_at) " +
+            "FROM alert a %s GROUP BY a.patient_id " +
+            "ON DUPLICATE KEY UPDATE open_critical = VALUES(open_critical), open_warning = VALUES(open_warning), " +
+            "open_info = VALUES(open_info), last_alert_at = VALUES(last_alert_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    // One batched statement per call; deltas must be ordered by patient id so concurrent writers lock rows in the same order
+    public void apply(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Delta delta : deltas) {
+            args.add(new Object[]{delta.patientId(), delta.critical(), delta.warning(), delta.info(),
+                    delta.lastAlertAt() != null ? Timestamp.valueOf(delta.lastAlertAt()) : null});
+        }
+        jdbcTemplate.batchUpdate(APPLY_SQL, args);
+    }
+
+    public int rebuild(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update(REBUILD_SQL.formatted("WHERE a.patient_id IN (:patientIds)"),
+                severityParams().addValue("patientIds", patientIds));
+    }
+
+    public int rebuildAll() {
+        return namedJdbcTemplate.update(REBUILD_SQL.formatted(""), severityParams());
+    }
+
+    private static MapSqlParameterSource severityParams() {
+        return new MapSqlParameterSource()
+                .addValue("critical", AlertSeverity.CRITICAL.ordinal())
+                .addValue("warning", AlertSeverity.WARNING.ordinal())
+                .addValue("info", AlertSeverity.INFO.ordinal());
+    }
+
+    public record Delta(Long patientId, int critical, int warning, int info, LocalDateTime lastAlertAt) {
+    }
+}
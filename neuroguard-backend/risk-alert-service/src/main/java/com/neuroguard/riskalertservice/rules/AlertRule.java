@@ -0,0 +1,35 @@
+package com.neuroguard.riskalertservice.rules;
+
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+
+/**
+ * A single alert rule. Implementations are stateless and compiled once; {@link #evaluate}
+ * runs for every patient, so it should not allocate unless the rule matches.
+ * <p>
+ * Besides the rules declared in configuration, any Spring bean implementing this
+ * interface is picked up by {@link AlertRuleRegistry}.
+ */
+public interface AlertRule {
+
+    String getId();
+
+    // Id plus the parameters that decide when the rule fires: an open alert with the same identity for the patient is the same alert
+    default String getIdentity() {
+        return getId();
+    }
+
+    AlertSeverity getSeverity();
+
+    // Time-based rules can fire without any history change and are re-run by the daily sweep
+    default boolean isTimeBased() {
+        return false;
+    }
+
+    // Returns the alert message when the rule matches, or null
+    String evaluate(RuleContext context);
+
+    // Whether the message could have been produced by this rule; maps alerts stored without a rule id back to their rule
+    default boolean producedMessage(String message) {
+        return false;
+    }
+}
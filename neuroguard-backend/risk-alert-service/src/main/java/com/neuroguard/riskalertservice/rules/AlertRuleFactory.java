@@ -0,0 +1,162 @@
+package com.neuroguard.riskalertservice.rules;
+
+import com.neuroguard.riskalertservice.config.AlertRuleProperties.RuleDefinition;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Compiles a {@link RuleDefinition} into an {@link AlertRule}. Parameters are parsed and
+ * field names resolved here, once, so evaluation does no lookups or parsing.
+ * <p>
+ * Supported types:
+ * <ul>
+ *     <li>{@code progression-stage} – {@code stage}</li>
+ *     <li>{@code progression-stage-above-age} – {@code stage}, {@code age} (exclusive, time-based)</li>
+ *     <li>{@code field-present} – {@code field}; {value} is the field text</li>
+ *     <li>{@code any-field-present} – {@code fields}, comma-separated</li>
+ *     <li>{@code diagnosis-age} – {@code min-years} (time-based); {value} is the number of years</li>
+ *     <li>{@code caregiver-count-above} – {@code count}</li>
+ * </ul>
+ */
+@Component
+public class AlertRuleFactory {
+
+    private static final Map<String, Function<MedicalHistorySummary, String>> FIELDS = Map.ofEntries(
+            Map.entry("diagnosis", MedicalHistorySummary::getDiagnosis),
+            Map.entry("progressionStage", MedicalHistorySummary::getProgressionStage),
+            Map.entry("geneticRisk", MedicalHistorySummary::getGeneticRisk),
+            Map.entry("familyHistory", MedicalHistorySummary::getFamilyHistory),
+            Map.entry("environmentalFactors", MedicalHistorySummary::getEnvironmentalFactors),
+            Map.entry("comorbidities", MedicalHistorySummary::getComorbidities),
+            Map.entry("medicationAllergies", MedicalHistorySummary::getMedicationAllergies),
+            Map.entry("environmentalAllergies", MedicalHistorySummary::getEnvironmentalAllergies),
+            Map.entry("foodAllergies", MedicalHistorySummary::getFoodAllergies)
+    );
+
+    public AlertRule compile(RuleDefinition definition) {
+        if (definition.getId() == null || definition.getId().isBlank()) {
+            throw new IllegalArgumentException("Alert rule without id: " + definition);
+        }
+        MessageTemplate message = MessageTemplate.compile(definition.getMessage());
+        RuleHeader header = new RuleHeader(definition.getId(), identity(definition), message);
+        AlertSeverity severity = definition.getSeverity();
+
+        switch (String.valueOf(definition.getType())) {
+            case "progression-stage": {
+                String stage = param(definition, "stage");
+                return new CompiledRule(header, severity, false,
+                        ctx -> stage.equalsIgnoreCase(ctx.getHistory().getProgressionStage()) ? message.render() : null);
+            }
+            case "progression-stage-above-age": {
+                String stage = param(definition, "stage");
+                int age = Integer.parseInt(param(definition, "age"));
+                return new CompiledRule(header, severity, true,
+                        ctx -> stage.equalsIgnoreCase(ctx.getHistory().getProgressionStage()) && ctx.getAge() > age
+                                ? message.render(ctx.getAge()) : null);
+            }
+            case "field-present": {
+                Function<MedicalHistorySummary, String> field = field(definition, param(definition, "field"));
+                return new CompiledRule(header, severity, false, ctx -> {
+                    String value = field.apply(ctx.getHistory());
+                    return value != null && !value.isBlank() ? message.render(value) : null;
+                });
+            }
+            case "any-field-present": {
+                List<Function<MedicalHistorySummary, String>> fields = Arrays.stream(param(definition, "fields").split(","))
+                        .map(name -> field(definition, name.trim()))
+                        .toList();
+                return new CompiledRule(header, severity, false, ctx -> {
+                    for (Function<MedicalHistorySummary, String> field : fields) {
+                        String value = field.apply(ctx.getHistory());
+                        if (value != null && !value.isBlank()) {
+                            return message.render();
+                        }
+                    }
+                    return null;
+                });
+            }
+            case "diagnosis-age": {
+                int minYears = Integer.parseInt(param(definition, "min-years"));
+                return new CompiledRule(header, severity, true, ctx -> {
+                    int years = ctx.getYearsSinceDiagnosis();
+                    return years >= minYears ? message.render(years) : null;
+                });
+            }
+            case "caregiver-count-above": {
+                int count = Integer.parseInt(param(definition, "count"));
+                return new CompiledRule(header, severity, false, ctx -> {
+                    List<Long> caregiverIds = ctx.getHistory().getCaregiverIds();
+                    return caregiverIds != null && caregiverIds.size() > count ? message.render(caregiverIds.size()) : null;
+                });
+            }
+            default:
+                throw new IllegalArgumentException("Unknown alert rule type '" + definition.getType() + "' for rule " + definition.getId());
+        }
+    }
+
+    // Sorted, so the identity does not depend on the order the params are declared in
+    private static String identity(RuleDefinition definition) {
+        return definition.getParams().isEmpty()
+                ? definition.getId()
+                : definition.getId() + new TreeMap<>(definition.getParams());
+    }
+
+    private String param(RuleDefinition definition, String name) {
+        String value = definition.getParams().get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Alert rule " + definition.getId() + " is missing parameter '" + name + "'");
+        }
+        return value;
+    }
+
+    private Function<MedicalHistorySummary, String> field(RuleDefinition definition, String name) {
+        Function<MedicalHistorySummary, String> field = FIELDS.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Alert rule " + definition.getId() + " references unknown field '" + name + "'");
+        }
+        return field;
+    }
+
+    private record RuleHeader(String id, String identity, MessageTemplate message) {
+    }
+
+    private record CompiledRule(RuleHeader header, AlertSeverity severity, boolean timeBased,
+                                Function<RuleContext, String> condition) implements AlertRule {
+        @Override
+        public String getId() {
+            return header.id();
+        }
+
+        @Override
+        public String getIdentity() {
+            return header.identity();
+        }
+
+        @Override
+        public boolean producedMessage(String message) {
+            return header.message().matches(message);
+        }
+
+        @Override
+        public AlertSeverity getSeverity() {
+            return severity;
+        }
+
+        @Override
+        public boolean isTimeBased() {
+            return timeBased;
+        }
+
+        @Override
+        public String evaluate(RuleContext context) {
+            return condition.apply(context);
+        }
+    }
+}
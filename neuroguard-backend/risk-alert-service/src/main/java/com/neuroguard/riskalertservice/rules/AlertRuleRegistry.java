@@ -0,0 +1,62 @@
+package com.neuroguard.riskalertservice.rules;
+
+import com.neuroguard.riskalertservice.config.AlertRuleProperties;
+import com.neuroguard.riskalertservice.config.AlertRuleProperties.RuleDefinition;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Holds every active alert rule: those declared under {@code alert.rules} plus any {@link AlertRule} beans.
+ * Rules are compiled once at startup into one {@link EvaluationPlan} per {@link EvaluationScope}.
+ */
+@Component
+public class AlertRuleRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertRuleRegistry.class);
+
+    private final List<AlertRule> rules;
+    private final EvaluationPlan allRulesPlan;
+    private final EvaluationPlan timeBasedPlan;
+
+    public AlertRuleRegistry(AlertRuleProperties properties,
+                             AlertRuleFactory factory,
+                             ObjectProvider<AlertRule> ruleBeans,
+                             MeterRegistry meterRegistry) {
+        List<AlertRule> compiled = new ArrayList<>();
+        for (RuleDefinition definition : properties.getRules()) {
+            if (definition.isEnabled()) {
+                compiled.add(factory.compile(definition));
+            }
+        }
+        ruleBeans.orderedStream().forEach(compiled::add);
+
+        Set<String> ids = new HashSet<>();
+        for (AlertRule rule : compiled) {
+            if (!ids.add(rule.getId())) {
+                throw new IllegalStateException("Duplicate alert rule id: " + rule.getId());
+            }
+        }
+
+        this.rules = Collections.unmodifiableList(compiled);
+        this.allRulesPlan = new EvaluationPlan(compiled, meterRegistry);
+        this.timeBasedPlan = new EvaluationPlan(compiled.stream().filter(AlertRule::isTimeBased).toList(), meterRegistry);
+        log.info("Compiled {} alert rules ({} time-based)", allRulesPlan.size(), timeBasedPlan.size());
+    }
+
+    public EvaluationPlan getPlan(EvaluationScope scope) {
+        return scope == EvaluationScope.TIME_BASED ? timeBasedPlan : allRulesPlan;
+    }
+
+    public List<AlertRule> getRules() {
+        return rules;
+    }
+}
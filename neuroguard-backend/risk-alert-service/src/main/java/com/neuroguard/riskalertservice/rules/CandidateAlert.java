@@ -0,0 +1,12 @@
+package com.neuroguard.riskalertservice.rules;
+
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+
+// Output of the evaluate stage: an alert that should exist for a patient, not yet checked against the database
+public record CandidateAlert(String ruleId, Long patientId, String message, AlertSeverity severity, String fingerprint) {
+
+    public CandidateAlert(AlertRule rule, Long patientId, String message) {
+        this(rule.getId(), patientId, message, rule.getSeverity(), Alert.fingerprintOf(rule.getIdentity(), patientId));
+    }
+}
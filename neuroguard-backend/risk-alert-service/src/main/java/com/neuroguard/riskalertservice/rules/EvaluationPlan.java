@@ -0,0 +1,65 @@
+package com.neuroguard.riskalertservice.rules;
+
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An ordered, immutable set of rules with their meters resolved up front.
+ * Evaluating a patient is one pass over an array; a result list is only allocated on the first match.
+ */
+public class EvaluationPlan {
+
+    private final AlertRule[] rules;
+    private final Counter[] evaluations;
+    private final Counter[] matches;
+    private final Timer[] timers;
+
+    public EvaluationPlan(List<AlertRule> rules, MeterRegistry meterRegistry) {
+        int size = rules.size();
+        this.rules = rules.toArray(new AlertRule[0]);
+        this.evaluations = new Counter[size];
+        this.matches = new Counter[size];
+        this.timers = new Timer[size];
+        for (int i = 0; i < size; i++) {
+            String ruleId = this.rules[i].getId();
+            evaluations[i] = Counter.builder("alert.rule.evaluations").tag("rule", ruleId)
+                    .description("Patients evaluated against the rule").register(meterRegistry);
+            matches[i] = Counter.builder("alert.rule.matches").tag("rule", ruleId)
+                    .description("Candidate alerts produced by the rule").register(meterRegistry);
+            timers[i] = Timer.builder("alert.rule.evaluation.time").tag("rule", ruleId)
+                    .description("Time spent evaluating the rule").register(meterRegistry);
+        }
+    }
+
+    public List<CandidateAlert> evaluate(UserDto patient, MedicalHistorySummary history) {
+        RuleContext context = new RuleContext(patient, history, LocalDate.now());
+        List<CandidateAlert> candidates = null;
+        for (int i = 0; i < rules.length; i++) {
+            AlertRule rule = rules[i];
+            long start = System.nanoTime();
+            String message = rule.evaluate(context);
+            timers[i].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            evaluations[i].increment();
+            if (message != null) {
+                matches[i].increment();
+                if (candidates == null) {
+                    candidates = new ArrayList<>(4);
+                }
+                candidates.add(new CandidateAlert(rule, patient.getId(), message));
+            }
+        }
+        return candidates != null ? candidates : List.of();
+    }
+
+    public int size() {
+        return rules.length;
+    }
+}
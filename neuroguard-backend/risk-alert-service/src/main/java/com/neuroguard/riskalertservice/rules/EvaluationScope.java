@@ -0,0 +1,6 @@
+package com.neuroguard.riskalertservice.rules;
+
+public enum EvaluationScope {
+    ALL,        // every rule – used for full runs and for patients whose history changed
+    TIME_BASED  // only rules whose outcome changes with the calendar (patient age, diagnosis age)
+}
@@ -0,0 +1,61 @@
+package com.neuroguard.riskalertservice.rules;
+
+/**
+ * A message with at most one {@code {value}} placeholder, split once at startup
+ * so rendering is a single concatenation. Rendered messages fit the alert message
+ * column: an overlong value is cut, the template text around it is kept.
+ */
+public final class MessageTemplate {
+
+    public static final int MAX_LENGTH = 500;          // alert.message column
+
+    private static final String PLACEHOLDER = "{value}";
+    private static final String ELLIPSIS = "...";
+
+    private final String prefix;
+    private final String suffix;
+    private final boolean hasPlaceholder;
+
+    private MessageTemplate(String prefix, String suffix, boolean hasPlaceholder) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.hasPlaceholder = hasPlaceholder;
+    }
+
+    public static MessageTemplate compile(String template) {
+        if (template == null || template.isBlank()) {
+            throw new IllegalArgumentException("Alert rule message must not be empty");
+        }
+        int index = template.indexOf(PLACEHOLDER);
+        int fixedLength = index < 0 ? template.length() : template.length() - PLACEHOLDER.length();
+        if (fixedLength + ELLIPSIS.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Alert rule message must be shorter than " + MAX_LENGTH + " characters");
+        }
+        if (index < 0) {
+            return new MessageTemplate(template, "", false);
+        }
+        return new MessageTemplate(template.substring(0, index), template.substring(index + PLACEHOLDER.length()), true);
+    }
+
+    public String render() {
+        return hasPlaceholder ? prefix + suffix : prefix;
+    }
+
+    public String render(Object value) {
+        if (!hasPlaceholder) {
+            return prefix;
+        }
+        String text = String.valueOf(value);
+        int room = MAX_LENGTH - prefix.length() - suffix.length();
+        if (text.length() > room) {
+            text = text.substring(0, room - ELLIPSIS.length()) + ELLIPSIS;
+        }
+        return prefix + text + suffix;
+    }
+
+    public boolean matches(String message) {
+        return hasPlaceholder
+                ? message.length() >= prefix.length() + suffix.length() && message.startsWith(prefix) && message.endsWith(suffix)
+                : message.equals(prefix);
+    }
+}
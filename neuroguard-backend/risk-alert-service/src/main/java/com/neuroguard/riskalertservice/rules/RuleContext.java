@@ -0,0 +1,52 @@
+package com.neuroguard.riskalertservice.rules;
+
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Inputs of one patient evaluation. Derived values are computed on first use and shared by all rules.
+ */
+public class RuleContext {
+
+    private static final int UNKNOWN = -1;
+
+    private final UserDto patient;
+    private final MedicalHistorySummary history;
+    private final LocalDate today;
+    private int age = Integer.MIN_VALUE;
+    private int yearsSinceDiagnosis = Integer.MIN_VALUE;
+
+    public RuleContext(UserDto patient, MedicalHistorySummary history, LocalDate today) {
+        this.patient = patient;
+        this.history = history;
+        this.today = today;
+    }
+
+    public UserDto getPatient() {
+        return patient;
+    }
+
+    public MedicalHistorySummary getHistory() {
+        return history;
+    }
+
+    // Patient age in years, or -1 when the date of birth is unknown
+    public int getAge() {
+        if (age == Integer.MIN_VALUE) {
+            age = patient.getDateOfBirth() != null ? Period.between(patient.getDateOfBirth(), today).getYears() : UNKNOWN;
+        }
+        return age;
+    }
+
+    // Whole years since diagnosis, or -1 when no diagnosis date is recorded
+    public int getYearsSinceDiagnosis() {
+        if (yearsSinceDiagnosis == Integer.MIN_VALUE) {
+            yearsSinceDiagnosis = history.getDiagnosisDate() != null
+                    ? Period.between(history.getDiagnosisDate(), today).getYears() : UNKNOWN;
+        }
+        return yearsSinceDiagnosis;
+    }
+}
@@ -1,6 +1,8 @@
 package com.neuroguard.riskalertservice.scheduler;
 
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
 import com.neuroguard.riskalertservice.service.AlertService;
+import com.neuroguard.riskalertservice.service.GenerationInProgressException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,10 +16,37 @@ public class AlertGenerationScheduler {
     private static final Logger log = LoggerFactory.getLogger(AlertGenerationScheduler.class);
     private final AlertService alertService;
 
-    @Scheduled(cron = "0 0 */6 * * *") // every 6 hours
-    public void generateAlerts() {
-        log.info("Starting scheduled alert generation");
-        alertService.generateAlertsForAllPatients();
-        log.info("Finished scheduled alert generation");
+    @Scheduled(cron = "${alert.generation.incremental-cron:0 */15 * * * *}")
+    public void generateAlertsForChanges() {
+        log.debug("Starting incremental alert generation");
+        try {
+            alertService.generateAlertsForChangedPatients().ifPresentOrElse(
+                    summary -> log.info("Finished incremental alert generation: {}", summary),
+                    () -> log.debug("Incremental alert generation runs on another instance"));
+        } catch (GenerationInProgressException e) {
+            log.info("Skipping incremental alert generation: {}", e.getMessage());
+        }
     }
-}
\ No newline at end of file
+
+    @Scheduled(cron = "${alert.generation.time-based-sweep-cron:0 0 3 * * *}")
+    public void sweepTimeBasedRules() {
+        log.info("Starting time-based rule sweep");
+        try {
+            GenerationRunSummary summary = alertService.sweepTimeBasedRules();
+            log.info("Finished time-based rule sweep: {}", summary);
+        } catch (GenerationInProgressException e) {
+            log.info("Skipping time-based rule sweep: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${alert.generation.resume-initial-delay-ms:60000}",
+            fixedDelayString = "${alert.generation.resume-check-interval-ms:600000}")
+    public void resumeInterruptedRun() {
+        try {
+            alertService.resumeInterruptedRun()
+                    .ifPresent(summary -> log.info("Finished resumed alert generation run: {}", summary));
+        } catch (GenerationInProgressException e) {
+            log.debug("Not resuming alert generation: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.neuroguard.riskalertservice.scheduler;
+
+import com.neuroguard.riskalertservice.service.AlertRetentionService;
+import com.neuroguard.riskalertservice.service.GenerationInProgressException;
+import com.neuroguard.riskalertservice.service.GenerationLeaseManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class AlertRetentionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertRetentionScheduler.class);
+    private static final String RETENTION_LEASE = "alert-retention";
+
+    private final AlertRetentionService retentionService;
+    private final GenerationLeaseManager leaseManager;
+
+    @Value("${alert.partitioning.lease-ttl:2h}")
+    private Duration leaseTtl;
+
+    // off-peak, daily; one replica archives, the others skip
+    @Scheduled(cron = "${alert.retention.cron:0 30 2 * * *}")
+    public void archiveResolvedAlerts() {
+        log.info("Starting resolved alert archival");
+        try {
+            leaseManager.runExclusively(RETENTION_LEASE, leaseTtl, retentionService::archiveResolvedAlerts).ifPresentOrElse(
+                    archived -> log.info("Finished resolved alert archival: {} alerts archived", archived),
+                    () -> log.info("Resolved alert archival runs on another instance"));
+        } catch (GenerationInProgressException e) {
+            log.warn("Resolved alert archival stopped: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.AlertChange;
+import com.neuroguard.riskalertservice.entity.Alert;
+
+import java.util.List;
+
+/**
+ * Published when alerts are created, changed or removed. Listeners that care about consistency
+ * (the SSE stream) receive it only after the surrounding transaction has committed.
+ * Carries {@link AlertChange}s rather than entities, so bulk operations never load whole alerts for it.
+ */
+public record AlertChangeEvent(Type type, List<AlertChange> alerts) {
+
+    public enum Type {
+        CREATED, UPDATED, RESOLVED, DELETED
+    }
+
+    public static AlertChangeEvent of(Type type, List<Alert> alerts) {
+        return new AlertChangeEvent(type, alerts.stream().map(AlertChange::of).toList());
+    }
+}
@@ -0,0 +1,44 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.repository.AlertRepository;
+import com.neuroguard.riskalertservice.rules.CandidateAlert;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dedup stage of alert generation: one query loads the open-alert fingerprints of every
+ * patient in the chunk, the diff against the candidates happens in memory. A fingerprint
+ * stands for (rule identity, patient), and uk_alert_open_fingerprint rejects a second open
+ * alert with the same one should two writers race past this check.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertDeduplicator {
+
+    private final AlertRepository alertRepository;
+
+    public List<CandidateAlert> filterNew(List<CandidateAlert> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> patientIds = new HashSet<>();
+        for (CandidateAlert candidate : candidates) {
+            patientIds.add(candidate.patientId());
+        }
+
+        Set<String> open = new HashSet<>(alertRepository.findOpenFingerprints(patientIds));
+        List<CandidateAlert> fresh = new ArrayList<>();
+        for (CandidateAlert candidate : candidates) {
+            // add() also drops duplicates inside the chunk itself
+            if (open.add(candidate.fingerprint())) {
+                fresh.add(candidate);
+            }
+        }
+        return fresh;
+    }
+}
@@ -0,0 +1,250 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.config.DetachedRequestAttributes;
+import com.neuroguard.riskalertservice.dto.GenerationJobStatus;
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On-demand alert generation as background jobs. A submission returns a job handle at once; the run
+ * executes on a small bounded pool and its progress is polled by job id.
+ * <p>
+ * A job for every patient is a journaled FULL run. The run is opened before the submission returns,
+ * which claims this instance's single run slot atomically (a second submission gets 409), and its
+ * {@link GenerationRun} id is the job id: status and progress are read from the journal row, so they
+ * survive a restart and can be polled on any replica. A job for a given set of patients is a short
+ * targeted re-evaluation outside the journal; its handle (a UUID) lives in memory on the submitting
+ * replica for {@code alert.generation.jobs.retention}.
+ */
+@Service
+public class AlertGenerationJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertGenerationJobService.class);
+
+    private final AlertService alertService;
+    private final GenerationRunJournal runJournal;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();             // targeted jobs
+    private final Set<Long> queuedRuns = ConcurrentHashMap.newKeySet();        // FULL runs not picked up by the pool yet
+
+    public AlertGenerationJobService(AlertService alertService,
+                                     GenerationRunJournal runJournal,
+                                     @Value("${alert.generation.jobs.threads:2}") int threads,
+                                     @Value("${alert.generation.jobs.queue-capacity:20}") int queueCapacity,
+                                     @Value("${alert.generation.jobs.retention:1h}") Duration retention) {
+        this.alertService = alertService;
+        this.runJournal = runJournal;
+        this.retention = retention;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "alert-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // patientIds null or empty: all patients
+    public GenerationJobStatus submit(List<Long> patientIds) {
+        // The request ends before the job runs; keep its token for the Feign calls
+        RequestAttributes requestAttributes = DetachedRequestAttributes.capture();
+        if (patientIds == null || patientIds.isEmpty()) {
+            return submitFullRun(requestAttributes);
+        }
+
+        pruneFinished();
+        Job job = new Job(UUID.randomUUID().toString(), List.copyOf(patientIds));
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> execute(job, requestAttributes));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw queueFull();
+        }
+        log.info("Queued alert generation job {} for {} patients", job.id, patientIds.size());
+        return job.toStatus();
+    }
+
+    public Optional<GenerationJobStatus> getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job != null) {
+            return Optional.of(job.toStatus());
+        }
+        try {
+            return runJournal.findRun(Long.parseLong(jobId))
+                    .filter(run -> run.getKind() == GenerationRun.Kind.FULL)
+                    .map(this::toStatus);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Throws GenerationInProgressException (409) while any journaled run is executing on this instance
+    private GenerationJobStatus submitFullRun(RequestAttributes requestAttributes) {
+        GenerationRunJournal.ActiveRun run = alertService.openFullRun();
+        Long runId = run.getRunId();
+        queuedRuns.add(runId);
+        try {
+            executor.execute(() -> executeFullRun(run, requestAttributes));
+        } catch (RejectedExecutionException e) {
+            queuedRuns.remove(runId);
+            runJournal.fail(run, e);
+            throw queueFull();
+        }
+        log.info("Queued alert generation run {} for all patients", runId);
+        return getStatus(String.valueOf(runId)).orElseThrow();
+    }
+
+    private void executeFullRun(GenerationRunJournal.ActiveRun run, RequestAttributes requestAttributes) {
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        queuedRuns.remove(run.getRunId());
+        try {
+            alertService.generateAlertsForAllPatients(run);
+        } catch (Exception e) {
+            // Recorded on the journal row by the run itself
+            log.error("Alert generation run {} failed: {}", run.getRunId(), e.getMessage());
+        } finally {
+            // Interrupted by shutdown before the run could close itself: free the slot, the row stays resumable
+            if (runJournal.isOpen(run)) {
+                runJournal.fail(run, new InterruptedException("interrupted"));
+            }
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private void execute(Job job, RequestAttributes requestAttributes) {
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        job.started();
+        try {
+            GenerationRunSummary summary = alertService.generateAlertsForPatients(job.patientIds, job::progress);
+            job.finished(summary, null);
+        } catch (Exception e) {
+            log.error("Alert generation job {} failed: {}", job.id, e.getMessage());
+            job.finished(null, e.getMessage());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private GenerationJobStatus toStatus(GenerationRun run) {
+        GenerationJobStatus view = new GenerationJobStatus();
+        view.setJobId(String.valueOf(run.getId()));
+        view.setStatus(queuedRuns.contains(run.getId()) ? "QUEUED" : run.getStatus().name());
+        view.setScope("ALL");
+        view.setPatientsTotal(run.getPatientsTotal());
+        view.setPatientsProcessed(run.getPatientsProcessed());
+        view.setAlertsCreated(run.getAlertsCreated());
+        view.setFailures(run.getFailures());
+        LocalDateTime until = run.getFinishedAt() != null ? run.getFinishedAt() : run.getCheckpointAt();
+        if (until != null && run.getStartedAt() != null) {
+            long millis = Duration.between(run.getStartedAt(), until).toMillis();
+            view.setPatientsPerSecond(millis > 0 ? run.getPatientsProcessed() * 1000.0 / millis : 0);
+        }
+        view.setSubmittedAt(run.getStartedAt());
+        view.setStartedAt(run.getStartedAt());
+        view.setFinishedAt(run.getFinishedAt());
+        view.setError(run.getError());
+        return view;
+    }
+
+    private static ResponseStatusException queueFull() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Alert generation queue is full, try again later");
+    }
+
+    private void pruneFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class Job {
+        private final String id;
+        private final List<Long> patientIds;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile String status = "QUEUED";
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private GenerationRunSummary progress = new GenerationRunSummary();
+
+        private Job(String id, List<Long> patientIds) {
+            this.id = id;
+            this.patientIds = patientIds;
+        }
+
+        void started() {
+            startedAt = LocalDateTime.now();
+            status = "RUNNING";
+        }
+
+        synchronized void progress(GenerationRunSummary summary, Long lastPatientId) {
+            progress = copyOf(summary);
+        }
+
+        synchronized void finished(GenerationRunSummary summary, String failure) {
+            if (summary != null) {
+                progress = copyOf(summary);
+            }
+            error = failure;
+            status = failure == null ? "COMPLETED" : "FAILED";
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized GenerationJobStatus toStatus() {
+            GenerationJobStatus view = new GenerationJobStatus();
+            view.setJobId(id);
+            view.setStatus(status);
+            view.setScope("PATIENTS");
+            view.setPatientsRequested(patientIds.size());
+            view.setPatientsTotal(progress.getPatientsTotal());
+            view.setPatientsProcessed(progress.getPatientsProcessed());
+            view.setAlertsCreated(progress.getAlertsCreated());
+            view.setFailures(progress.getFailures());
+            view.setPatientsPerSecond(progress.getPatientsPerSecond());
+            view.setSubmittedAt(submittedAt);
+            view.setStartedAt(startedAt);
+            view.setFinishedAt(finishedAt);
+            view.setError(error);
+            return view;
+        }
+
+        // The pipeline keeps mutating its summary, the job holds a stable copy
+        private static GenerationRunSummary copyOf(GenerationRunSummary summary) {
+            GenerationRunSummary copy = new GenerationRunSummary();
+            copy.setPatientsTotal(summary.getPatientsTotal());
+            copy.setPatientsProcessed(summary.getPatientsProcessed());
+            copy.setAlertsCreated(summary.getAlertsCreated());
+            copy.setFailures(summary.getFailures());
+            copy.setDurationMs(summary.getDurationMs());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.client.MedicalHistoryBulkReader;
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.repository.AlertBatchWriter;
+import com.neuroguard.riskalertservice.rules.CandidateAlert;
+import com.neuroguard.riskalertservice.rules.EvaluationScope;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs alert generation as three stages:
+ * <ol>
+ *     <li>fetch – medical histories are loaded in bulk batches, in parallel on a bounded pool,</li>
+ *     <li>evaluate – the rules are applied to each history as soon as it arrives,</li>
+ *     <li>persist – each chunk of candidates is deduplicated against open alerts in one query and
+ *     batch-inserted, one short transaction per chunk; new alerts are published as an
+ *     {@link AlertChangeEvent} once the chunk commits.</li>
+ * </ol>
+ * Every fetched batch is persisted before the next one is handled, so progress reported to a
+ * {@link ProgressListener} can serve as a resume checkpoint.
+ * A failure for one patient (or one chunk) is counted and logged, the run carries on.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlertGenerationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertGenerationPipeline.class);
+
+    private final MedicalHistoryBulkReader bulkReader;
+    private final AlertRuleEvaluator ruleEvaluator;
+    private final AlertDeduplicator deduplicator;
+    private final AlertBatchWriter batchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CaregiverAssignmentIndex assignmentIndex;
+    private final AlertMetrics metrics;
+
+    @Value("${alert.generation.fetch-parallelism:8}")
+    private int fetchParallelism;
+
+    @Value("${alert.generation.fetch-batch-size:500}")
+    private int fetchBatchSize;
+
+    @Value("${alert.generation.persist-chunk-size:200}")
+    private int persistChunkSize;
+
+    public GenerationRunSummary run(List<UserDto> patients, EvaluationScope scope, ProgressListener listener) {
+        return run(patients, scope, bulkReader::getSummaries, listener);
+    }
+
+    // Histories already pulled from the change feed skip the fetch round trip
+    public GenerationRunSummary run(List<UserDto> patients, Map<Long, MedicalHistorySummary> prefetched,
+                                    ProgressListener listener) {
+        return run(patients, EvaluationScope.ALL, patientIds -> patientIds.stream()
+                .map(prefetched::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()), listener);
+    }
+
+    private GenerationRunSummary run(List<UserDto> patients, EvaluationScope scope,
+                                     Function<List<Long>, List<MedicalHistorySummary>> historySource,
+                                     ProgressListener listener) {
+        long start = System.nanoTime();
+        GenerationRunSummary summary = new GenerationRunSummary();
+        summary.setPatientsTotal(patients.size());
+
+        // Feign propagates the caller's token from the request context, so hand it to the fetch workers
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        int parallelism = Math.max(1, fetchParallelism);
+        ExecutorService fetchPool = Executors.newFixedThreadPool(parallelism, fetchThreadFactory());
+        CompletionService<FetchResult> completionService = new ExecutorCompletionService<>(fetchPool);
+        List<CandidateAlert> pending = new ArrayList<>();
+
+        try {
+            // Patients are fetched in batches through the bulk NDJSON endpoint, one round trip per batch
+            List<List<UserDto>> batches = partition(patients, Math.max(1, fetchBatchSize));
+            // Batches finish out of order; the checkpoint only moves over the completed prefix
+            boolean[] done = new boolean[batches.size()];
+            int confirmed = 0;
+            // Keep a bounded window of in-flight batches so a huge patient list never sits in memory as futures
+            int window = parallelism * 2;
+            int submitted = 0;
+            int completed = 0;
+            while (completed < batches.size()) {
+                while (submitted < batches.size() && submitted - completed < window) {
+                    int index = submitted++;
+                    List<UserDto> batch = batches.get(index);
+                    completionService.submit(() -> fetch(index, batch, historySource, requestAttributes));
+                }
+
+                FetchResult result = completionService.take().get();
+                completed++;
+
+                if (result.error() != null) {
+                    summary.setFailures(summary.getFailures() + result.patients().size());
+                    log.error("Failed to fetch medical histories for {} patients: {}", result.patients().size(), result.error().getMessage());
+                } else {
+                    syncAssignments(result);
+                    long evaluateStart = System.nanoTime();
+                    evaluate(result, scope, summary, pending);
+                    metrics.record(AlertMetrics.Phase.EVALUATE, System.nanoTime() - evaluateStart);
+                }
+
+                // Each batch ends with its alerts written, so a checkpoint past it is durable
+                persistChunks(pending, summary);
+                done[result.index()] = true;
+                int before = confirmed;
+                while (confirmed < done.length && done[confirmed]) {
+                    confirmed++;
+                }
+                if (confirmed > before) {
+                    List<UserDto> lastBatch = batches.get(confirmed - 1);
+                    summary.setDurationMs((System.nanoTime() - start) / 1_000_000);
+                    listener.onProgress(summary, lastBatch.get(lastBatch.size() - 1).getId());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Alert generation interrupted after {} patients", summary.getPatientsProcessed());
+        } catch (ExecutionException e) {
+            // fetch() never throws, so this only happens if the task itself could not run
+            log.error("Alert generation aborted: {}", e.getMessage(), e);
+        } finally {
+            fetchPool.shutdownNow();
+        }
+
+        summary.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Alert generation run finished: {}", summary);
+        return summary;
+    }
+
+    // ------------------- Stages -------------------
+
+    private FetchResult fetch(int index, List<UserDto> batch,
+                              Function<List<Long>, List<MedicalHistorySummary>> historySource,
+                              RequestAttributes requestAttributes) {
+        if (requestAttributes != null) {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+        }
+        try {
+            List<Long> patientIds = batch.stream().map(UserDto::getId).collect(Collectors.toList());
+            Map<Long, MedicalHistorySummary> histories = new HashMap<>();
+            List<MedicalHistorySummary> fetched = metrics.time(AlertMetrics.Phase.FETCH_HISTORY, () -> historySource.apply(patientIds));
+            for (MedicalHistorySummary history : fetched) {
+                histories.put(history.getPatientId(), history);
+            }
+            return new FetchResult(index, batch, histories, null);
+        } catch (Exception e) {
+            return new FetchResult(index, batch, Map.of(), e);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private void evaluate(FetchResult result, EvaluationScope scope, GenerationRunSummary summary,
+                          List<CandidateAlert> pending) {
+        for (UserDto patient : result.patients()) {
+            MedicalHistorySummary history = result.histories().get(patient.getId());
+            if (history == null) {
+                // No medical history recorded yet – nothing to evaluate
+                summary.setPatientsProcessed(summary.getPatientsProcessed() + 1);
+                continue;
+            }
+            try {
+                pending.addAll(ruleEvaluator.evaluate(patient, history, scope));
+                summary.setPatientsProcessed(summary.getPatientsProcessed() + 1);
+            } catch (Exception e) {
+                summary.setFailures(summary.getFailures() + 1);
+                log.error("Failed to evaluate rules for patient {}: {}", patient.getId(), e.getMessage());
+            }
+        }
+    }
+
+    // Fetched histories double as the feed for the local caregiver assignment index
+    private void syncAssignments(FetchResult result) {
+        try {
+            assignmentIndex.refresh(result.patients().stream().map(UserDto::getId).toList(), result.histories().values());
+        } catch (Exception e) {
+            log.error("Failed to sync caregiver assignments for {} patients: {}", result.patients().size(), e.getMessage());
+        }
+    }
+
+    private void persistChunks(List<CandidateAlert> pending, GenerationRunSummary summary) {
+        for (List<CandidateAlert> chunk : partition(pending, Math.max(1, persistChunkSize))) {
+            persistChunk(chunk, summary);
+        }
+        pending.clear();
+    }
+
+    private void persistChunk(List<CandidateAlert> candidates, GenerationRunSummary summary) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long[] dedupNanos = new long[1];
+        try {
+            int created;
+            try {
+                created = insertNew(candidates, start, dedupNanos);
+            } catch (DuplicateKeyException e) {
+                // Another writer opened one of these alerts after the dedup read; the retry's read sees it
+                log.debug("Open alert written concurrently, deduplicating chunk again: {}", e.getMessage());
+                created = insertNew(candidates, start, dedupNanos);
+            }
+            summary.setAlertsCreated(summary.getAlertsCreated() + created);
+        } catch (Exception e) {
+            summary.setFailures(summary.getFailures() + 1);
+            log.error("Failed to persist chunk of {} candidate alerts: {}", candidates.size(), e.getMessage());
+        } finally {
+            // persist covers the insert and the commit, dedup the open-alert lookup before it
+            metrics.record(AlertMetrics.Phase.DEDUP, dedupNanos[0]);
+            metrics.record(AlertMetrics.Phase.PERSIST, System.nanoTime() - start - dedupNanos[0]);
+        }
+    }
+
+    private int insertNew(List<CandidateAlert> candidates, long start, long[] dedupNanos) {
+        Integer created = transactionTemplate.execute(status -> {
+            List<CandidateAlert> fresh = deduplicator.filterNew(candidates);
+            dedupNanos[0] = System.nanoTime() - start;
+            List<Alert> inserted = batchWriter.insert(fresh);
+            for (Alert alert : inserted) {
+                log.info("Auto-generated alert for patient {}: {}", alert.getPatientId(), alert.getMessage());
+            }
+            if (!inserted.isEmpty()) {
+                eventPublisher.publishEvent(AlertChangeEvent.of(AlertChangeEvent.Type.CREATED, inserted));
+            }
+            return inserted.size();
+        });
+        return created != null ? created : 0;
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> partitions = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            partitions.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return partitions;
+    }
+
+    private ThreadFactory fetchThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "alert-fetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Told after every batch that completes the in-order prefix of the patient list. With patients
+     * sorted by id, everything up to {@code lastPatientId} is evaluated and persisted.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        ProgressListener NONE = (progress, lastPatientId) -> {
+        };
+
+        void onProgress(GenerationRunSummary progress, Long lastPatientId);
+    }
+
+    private record FetchResult(int index, List<UserDto> patients, Map<Long, MedicalHistorySummary> histories, Exception error) {
+    }
+}
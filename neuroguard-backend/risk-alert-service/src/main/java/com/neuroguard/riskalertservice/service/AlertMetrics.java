@@ -0,0 +1,100 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.AlertChange;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service-level meters, next to the per-rule ones of {@link com.neuroguard.riskalertservice.rules.EvaluationPlan}:
+ * <ul>
+ *     <li>{@code alert.generation.phase} – time per generation phase ({@code phase} tag), summed over batches and chunks,</li>
+ *     <li>{@code alert.created} – committed new alerts by {@code severity} and {@code source} (rule or manual),</li>
+ *     <li>{@code alert.caregiver.response.size} – alerts returned per caregiver listing.</li>
+ * </ul>
+ * Feign call latencies come from feign-micrometer as {@code http.client.requests}.
+ */
+@Component
+public class AlertMetrics {
+
+    public enum Phase {
+        FETCH_PATIENTS("fetch-patients"),
+        FETCH_HISTORY("fetch-history"),
+        EVALUATE("evaluate"),
+        DEDUP("dedup"),
+        PERSIST("persist");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String NO_SEVERITY = "none";
+
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Map<AlertSeverity, Counter> ruleAlerts = new EnumMap<>(AlertSeverity.class);
+    private final Map<AlertSeverity, Counter> manualAlerts = new EnumMap<>(AlertSeverity.class);
+    private final Counter ruleAlertsWithoutSeverity;
+    private final Counter manualAlertsWithoutSeverity;
+    private final DistributionSummary caregiverResponseSize;
+
+    public AlertMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("alert.generation.phase").tag("phase", phase.tag)
+                    .description("Time spent in one phase of alert generation").register(meterRegistry));
+        }
+        for (AlertSeverity severity : AlertSeverity.values()) {
+            ruleAlerts.put(severity, createdCounter(meterRegistry, severity.name(), "rule"));
+            manualAlerts.put(severity, createdCounter(meterRegistry, severity.name(), "manual"));
+        }
+        ruleAlertsWithoutSeverity = createdCounter(meterRegistry, NO_SEVERITY, "rule");
+        manualAlertsWithoutSeverity = createdCounter(meterRegistry, NO_SEVERITY, "manual");
+        caregiverResponseSize = DistributionSummary.builder("alert.caregiver.response.size")
+                .baseUnit("alerts")
+                .description("Alerts returned by one caregiver alert listing")
+                .register(meterRegistry);
+    }
+
+    public <T> T time(Phase phase, Supplier<T> work) {
+        return phaseTimers.get(phase).record(work);
+    }
+
+    public void record(Phase phase, long nanos) {
+        phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCaregiverResponse(int alerts) {
+        caregiverResponseSize.record(alerts);
+    }
+
+    // After commit, so rolled-back inserts are not counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertChange(AlertChangeEvent event) {
+        if (event.type() != AlertChangeEvent.Type.CREATED) {
+            return;
+        }
+        for (AlertChange alert : event.alerts()) {
+            boolean manual = alert.ruleId() == null;
+            Counter counter = alert.severity() == null
+                    ? (manual ? manualAlertsWithoutSeverity : ruleAlertsWithoutSeverity)
+                    : (manual ? manualAlerts : ruleAlerts).get(alert.severity());
+            counter.increment();
+        }
+    }
+
+    private static Counter createdCounter(MeterRegistry meterRegistry, String severity, String source) {
+        return Counter.builder("alert.created").tag("severity", severity).tag("source", source)
+                .description("Alerts created").register(meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.AlertResponse;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.ArchivedAlert;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps alerts to {@link AlertResponse}s. Patient names for a whole list come from one bulk
+ * {@link UserDirectory} lookup, joined in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertResponseMapper {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertResponseMapper.class);
+
+    private final UserDirectory userDirectory;
+
+    public List<AlertResponse> toResponses(List<Alert> alerts) {
+        Set<Long> patientIds = alerts.stream().map(Alert::getPatientId).collect(Collectors.toSet());
+        Map<Long, UserDto> patients = userDirectory.getUsers(patientIds);
+        if (patients.size() < patientIds.size()) {
+            log.error("Failed to fetch patient names for {} of {} patients", patientIds.size() - patients.size(), patientIds.size());
+        }
+        List<AlertResponse> responses = new ArrayList<>(alerts.size());
+        for (Alert alert : alerts) {
+            responses.add(toResponse(alert, UserDirectory.displayName(patients.get(alert.getPatientId()))));
+        }
+        return responses;
+    }
+
+    public AlertResponse toResponse(Alert alert) {
+        return toResponses(List.of(alert)).get(0);
+    }
+
+    public AlertResponse toResponse(Alert alert, String patientName) {
+        AlertResponse resp = new AlertResponse();
+        resp.setId(alert.getId());
+        resp.setPatientId(alert.getPatientId());
+        resp.setPatientName(patientName);
+        resp.setMessage(alert.getMessage());
+        resp.setSeverity(alert.getSeverity());
+        resp.setResolved(alert.isResolved());
+        resp.setCreatedAt(alert.getCreatedAt());
+        resp.setUpdatedAt(alert.getUpdatedAt());
+        return resp;
+    }
+
+    public AlertResponse toResponse(ArchivedAlert alert, String patientName) {
+        AlertResponse resp = new AlertResponse();
+        resp.setId(alert.getId());
+        resp.setPatientId(alert.getPatientId());
+        resp.setPatientName(patientName);
+        resp.setMessage(alert.getMessage());
+        resp.setSeverity(alert.getSeverity());
+        resp.setResolved(true);
+        resp.setCreatedAt(alert.getCreatedAt());
+        resp.setUpdatedAt(alert.getResolvedAt());
+        return resp;
+    }
+}
@@ -0,0 +1,65 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.repository.AlertRepository;
+import com.neuroguard.riskalertservice.repository.ArchivedAlertRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves resolved alerts older than {@code alert.retention.resolved-age} from the hot alert table
+ * into alert_archive. Each batch is copied and deleted in its own short transaction, so the job
+ * can be stopped at any point without losing or duplicating alerts.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlertRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertRetentionService.class);
+
+    private final AlertRepository alertRepository;
+    private final ArchivedAlertRepository archivedAlertRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${alert.retention.resolved-age:90d}")
+    private Duration resolvedAge;
+
+    @Value("${alert.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${alert.retention.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    public int archiveResolvedAlerts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(resolvedAge);
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Alert archival interrupted after {} alerts", archived);
+                break;
+            }
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = alertRepository.findResolvedIdsUpdatedBefore(cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedAlertRepository.copyFromAlerts(ids, LocalDateTime.now());
+                return alertRepository.deleteByIdIn(ids);
+            });
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+        }
+        log.info("Archived {} resolved alerts older than {}", archived, cutoff);
+        return archived;
+    }
+}
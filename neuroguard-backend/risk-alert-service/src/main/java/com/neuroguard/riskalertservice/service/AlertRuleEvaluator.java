@@ -0,0 +1,30 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.rules.AlertRuleRegistry;
+import com.neuroguard.riskalertservice.rules.CandidateAlert;
+import com.neuroguard.riskalertservice.rules.EvaluationScope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Evaluate stage of alert generation: turns a patient and their medical history
+ * into candidate alerts without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertRuleEvaluator {
+
+    private final AlertRuleRegistry ruleRegistry;
+
+    public List<CandidateAlert> evaluate(UserDto patient, MedicalHistorySummary history) {
+        return evaluate(patient, history, EvaluationScope.ALL);
+    }
+
+    public List<CandidateAlert> evaluate(UserDto patient, MedicalHistorySummary history, EvaluationScope scope) {
+        return ruleRegistry.getPlan(scope).evaluate(patient, history);
+    }
+}
@@ -1,22 +1,50 @@
 package com.neuroguard.riskalertservice.service;
 
-import com.neuroguard.riskalertservice.client.MedicalHistoryClient;
+import com.neuroguard.riskalertservice.client.MedicalHistoryBulkReader;
 import com.neuroguard.riskalertservice.client.UserServiceClient;
+import com.neuroguard.riskalertservice.dto.AlertChange;
+import com.neuroguard.riskalertservice.dto.AlertCursor;
+import com.neuroguard.riskalertservice.dto.AlertPage;
+import com.neuroguard.riskalertservice.dto.AlertQuery;
 import com.neuroguard.riskalertservice.dto.AlertRequest;
 import com.neuroguard.riskalertservice.dto.AlertResponse;
+import com.neuroguard.riskalertservice.dto.AlertSummaryResponse;
+import com.neuroguard.riskalertservice.dto.BulkAlertRequest;
+import com.neuroguard.riskalertservice.dto.BulkAlertResult;
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
 import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
 import com.neuroguard.riskalertservice.dto.UserDto;
 import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.entity.ArchivedAlert;
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import com.neuroguard.riskalertservice.entity.GenerationWatermark;
+import com.neuroguard.riskalertservice.repository.AlertPageReader;
 import com.neuroguard.riskalertservice.repository.AlertRepository;
+import com.neuroguard.riskalertservice.repository.GenerationWatermarkRepository;
+import com.neuroguard.riskalertservice.rules.EvaluationScope;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.LocalDate;
-import java.time.Period;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,100 +52,215 @@ import java.util.stream.Collectors;
 public class AlertService {
 
     private static final Logger log = LoggerFactory.getLogger(AlertService.class);
+    private static final String CHANGE_WATERMARK = "medical-history-changes";
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_TRIAGE_SIZE = 20;
+    private static final String FULL_RUN_LEASE = "alert-generation-full";
+    private static final String CHANGES_LEASE = "alert-generation-changes";
 
     private final AlertRepository alertRepository;
-    private final MedicalHistoryClient medicalHistoryClient;
+    private final AlertPageReader alertPageReader;
     private final UserServiceClient userServiceClient;
+    private final AlertGenerationPipeline generationPipeline;
+    private final MedicalHistoryBulkReader bulkReader;
+    private final GenerationWatermarkRepository watermarkRepository;
+    private final UserDirectory userDirectory;
+    private final AlertResponseMapper responseMapper;
+    private final CaregiverAssignmentIndex assignmentIndex;
+    private final AlertStreamService alertStreamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GenerationRunJournal runJournal;
+    private final PatientPartitionResolver partitionResolver;
+    private final GenerationLeaseManager leaseManager;
+    private final AlertSummaryService alertSummaryService;
+    private final AlertMetrics metrics;
+
+    @Value("${alert.partitioning.lease-ttl:2h}")
+    private Duration leaseTtl;
+
+    @Value("${alert.generation.changes.page-size:1000}")
+    private int changePageSize;
+
+    @Value("${alert.generation.changes.commit-slack:2m}")
+    private Duration changeCommitSlack;
 
     // ------------------- Automatic Generation (scheduled & on-demand) -------------------
-    @Transactional
-    public void generateAlertsForAllPatients() {
-        List<UserDto> patients = userServiceClient.getUsersByRole("PATIENT");
-        for (UserDto patient : patients) {
-            try {
-                MedicalHistorySummary history = medicalHistoryClient.getMedicalHistoryByPatientId(patient.getId());
-                generateAlertsForPatient(patient, history);
-            } catch (Exception e) {
-                log.error("Failed to generate alerts for patient {}: {}", patient.getId(), e.getMessage());
+    // All runs go through the journal: one at a time, checkpointed, full-list runs resume where they stopped
+    // On-demand: opens the journaled FULL run on the caller's thread, so the run id is known (and the
+    // instance's single run slot taken) before the work is queued; see generateAlertsForAllPatients(ActiveRun)
+    public GenerationRunJournal.ActiveRun openFullRun() {
+        return runJournal.start(GenerationRun.Kind.FULL);
+    }
+
+    // This replica covers every patient, under a cluster-wide lease so no other replica runs one too
+    public GenerationRunSummary generateAlertsForAllPatients(GenerationRunJournal.ActiveRun run) {
+        Optional<GenerationRunSummary> summary;
+        try {
+            summary = leaseManager.runExclusively(FULL_RUN_LEASE, leaseTtl,
+                    () -> sweep(run, EvaluationScope.ALL, PatientPartition.ALL, AlertGenerationPipeline.ProgressListener.NONE));
+        } catch (RuntimeException e) {
+            // The lease itself failed; the sweep closes the run on its own failures
+            if (runJournal.isOpen(run)) {
+                runJournal.fail(run, e);
             }
+            throw e;
+        }
+        if (summary.isEmpty()) {
+            GenerationInProgressException e = new GenerationInProgressException("An alert generation run for all patients is in progress on another instance");
+            runJournal.fail(run, e);
+            throw e;
         }
+        return summary.get();
     }
 
-    private void generateAlertsForPatient(UserDto patient, MedicalHistorySummary history) {
-        // Rule 1: Severe progression stage → CRITICAL
-        if ("SEVERE".equalsIgnoreCase(history.getProgressionStage())) {
-            createAutoAlert(patient.getId(), "Progression stage is SEVERE. Immediate attention required.", "CRITICAL");
+    // Targeted re-evaluation; short and not resumable, so it runs beside the journaled runs
+    public GenerationRunSummary generateAlertsForPatients(Collection<Long> patientIds,
+                                                         AlertGenerationPipeline.ProgressListener observer) {
+        List<UserDto> patients = knownPatients(patientIds);
+        if (patients.size() < patientIds.size()) {
+            log.warn("{} of {} requested ids are not known patients", patientIds.size() - patients.size(), patientIds.size());
         }
+        return generationPipeline.run(patients, EvaluationScope.ALL, observer);
+    }
+
+    // The given ids that belong to patients, ascending
+    private List<UserDto> knownPatients(Collection<Long> ids) {
+        return metrics.time(AlertMetrics.Phase.FETCH_PATIENTS, () -> userDirectory.getUsers(ids)).values().stream()
+                .filter(user -> "PATIENT".equals(user.getRole()))
+                .sorted(Comparator.comparing(UserDto::getId))
+                .collect(Collectors.toList());
+    }
 
-        // Rule 2: Moderate progression + age > 75 → WARNING (increased fall risk)
-        if ("MODERATE".equalsIgnoreCase(history.getProgressionStage()) && patient.getDateOfBirth() != null) {
-            int age = Period.between(patient.getDateOfBirth(), LocalDate.now()).getYears();
-            if (age > 75) {
-                createAutoAlert(patient.getId(), "Moderate progression and age > 75 – high fall risk.", "WARNING");
+    // Re-evaluates only patients whose medical history changed since the stored watermark
+    // The watermark is global, so one replica at a time follows the change feed; empty when another one holds it
+    public Optional<GenerationRunSummary> generateAlertsForChangedPatients() {
+        return leaseManager.runExclusively(CHANGES_LEASE, leaseTtl, () -> {
+            GenerationRunJournal.ActiveRun run = runJournal.start(GenerationRun.Kind.CHANGES);
+            try {
+                GenerationRunSummary summary = generateForChanges(run);
+                runJournal.finish(run, summary);
+                return summary;
+            } catch (RuntimeException e) {
+                runJournal.fail(run, e);
+                throw e;
             }
-        }
+        });
+    }
 
-        // Rule 3: Any allergy recorded → WARNING
-        if (hasAllergies(history)) {
-            createAutoAlert(patient.getId(), "Patient has allergies that may require attention.", "WARNING");
-        }
+    private GenerationRunSummary generateForChanges(GenerationRunJournal.ActiveRun run) {
+        GenerationWatermark watermark = watermarkRepository.findById(CHANGE_WATERMARK)
+                .orElseGet(() -> {
+                    GenerationWatermark initial = new GenerationWatermark();
+                    initial.setName(CHANGE_WATERMARK);
+                    initial.setWatermark(INITIAL_WATERMARK);
+                    return initial;
+                });
 
-        // Rule 4: Comorbidities present → INFO (with details)
-        if (history.getComorbidities() != null && !history.getComorbidities().isBlank()) {
-            createAutoAlert(patient.getId(), "Comorbidities detected: " + history.getComorbidities(), "INFO");
-        }
+        // Re-read a little behind the watermark: a history whose transaction committed late carries an
+        // updatedAt the feed has already passed. Re-evaluating the others is harmless, dedup skips them.
+        LocalDateTime cursorTime = watermark.getWatermark().minus(changeCommitSlack);
+        long cursorId = changeCommitSlack.isZero() && watermark.getWatermarkId() != null ? watermark.getWatermarkId() : 0L;
+        GenerationRunSummary total = new GenerationRunSummary();
+        while (true) {
+            LocalDateTime since = cursorTime;
+            long afterId = cursorId;
+            List<MedicalHistorySummary> page = metrics.time(AlertMetrics.Phase.FETCH_HISTORY,
+                    () -> bulkReader.getSummariesChangedSince(since, afterId, changePageSize));
+            if (page.isEmpty()) {
+                break;
+            }
 
-        // Rule 5: Genetic risk factors → INFO
-        if (history.getGeneticRisk() != null && !history.getGeneticRisk().isBlank()) {
-            createAutoAlert(patient.getId(), "Genetic risk factors recorded: " + history.getGeneticRisk(), "INFO");
-        }
+            Map<Long, MedicalHistorySummary> histories = new HashMap<>();
+            for (MedicalHistorySummary history : page) {
+                histories.put(history.getPatientId(), history);
+            }
+            GenerationRunSummary before = total;
+            GenerationRunSummary pageSummary = generationPipeline.run(knownPatients(histories.keySet()), histories,
+                    (progress, lastPatientId) -> run.onProgress(before.plus(progress), null));
+            total = total.plus(pageSummary);
 
-        // Rule 6: Family history of note → INFO
-        if (history.getFamilyHistory() != null && !history.getFamilyHistory().isBlank()) {
-            createAutoAlert(patient.getId(), "Family history recorded: " + history.getFamilyHistory(), "INFO");
+            // Only move past a page once every change in it was handled, otherwise the next run retries it.
+            // An interrupted run (shutdown, lost lease) must leave it to the next holder.
+            if (pageSummary.getFailures() > 0 || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            MedicalHistorySummary last = page.get(page.size() - 1);
+            cursorTime = last.getUpdatedAt();
+            cursorId = last.getId();
+            advance(watermark, cursorTime, cursorId);
+            if (page.size() < changePageSize) {
+                break;
+            }
         }
-
-        // Rule 7: Environmental factors → INFO
-        if (history.getEnvironmentalFactors() != null && !history.getEnvironmentalFactors().isBlank()) {
-            createAutoAlert(patient.getId(), "Environmental factors: " + history.getEnvironmentalFactors(), "INFO");
+        if (total.getPatientsTotal() == 0) {
+            log.debug("No medical history changes since {}", watermark.getWatermark());
         }
+        return total;
+    }
 
-        // Rule 8: Diagnosis recorded → INFO
-        if (history.getDiagnosis() != null && !history.getDiagnosis().isBlank()) {
-            createAutoAlert(patient.getId(), "Diagnosis: " + history.getDiagnosis(), "INFO");
+    // Checkpoint of the change feed; pages inside the safety lag never move it back
+    private void advance(GenerationWatermark watermark, LocalDateTime updatedAt, long historyId) {
+        int order = updatedAt.compareTo(watermark.getWatermark());
+        long storedId = watermark.getWatermarkId() != null ? watermark.getWatermarkId() : 0L;
+        if (order > 0 || (order == 0 && historyId > storedId)) {
+            watermark.setWatermark(updatedAt);
+            watermark.setWatermarkId(historyId);
+            watermarkRepository.save(watermark);
         }
+    }
 
-        // Rule 9: Diagnosis older than 2 years → suggest re-evaluation
-        if (history.getDiagnosisDate() != null) {
-            int yearsSinceDiagnosis = Period.between(history.getDiagnosisDate(), LocalDate.now()).getYears();
-            if (yearsSinceDiagnosis >= 2) {
-                createAutoAlert(patient.getId(), "Diagnosis was " + yearsSinceDiagnosis + " years ago. Consider re-evaluation.", "INFO");
-            }
-        }
+    // Slow sweep for the calendar-driven rules, which fire without any history change.
+    // Every replica sweeps only its own partition of the patients.
+    public GenerationRunSummary sweepTimeBasedRules() {
+        return runPatientSweep(GenerationRun.Kind.TIME_BASED, EvaluationScope.TIME_BASED,
+                partitionResolver.current(), AlertGenerationPipeline.ProgressListener.NONE);
+    }
 
-        // Rule 10: Multiple caregivers assigned → coordination needed (optional)
-        if (history.getCaregiverIds() != null && history.getCaregiverIds().size() > 2) {
-            createAutoAlert(patient.getId(), "Multiple caregivers assigned – ensure consistent communication.", "INFO");
+    // Picks up a full-list run that stopped before the end (restart, failure) from its checkpoint:
+    // this replica's partition of the time-based sweep, or an on-demand run for all patients
+    public Optional<GenerationRunSummary> resumeInterruptedRun() {
+        PatientPartition partition = partitionResolver.current();
+        if (runJournal.hasResumableRun(GenerationRun.Kind.TIME_BASED, partition)) {
+            return Optional.of(runPatientSweep(GenerationRun.Kind.TIME_BASED, EvaluationScope.TIME_BASED, partition,
+                    AlertGenerationPipeline.ProgressListener.NONE));
+        }
+        if (runJournal.hasResumableRun(GenerationRun.Kind.FULL, PatientPartition.ALL)) {
+            return leaseManager.runExclusively(FULL_RUN_LEASE, leaseTtl, () -> runPatientSweep(GenerationRun.Kind.FULL,
+                    EvaluationScope.ALL, PatientPartition.ALL, AlertGenerationPipeline.ProgressListener.NONE));
         }
+        return Optional.empty();
     }
 
-    private boolean hasAllergies(MedicalHistorySummary history) {
-        return (history.getMedicationAllergies() != null && !history.getMedicationAllergies().isBlank()) ||
-                (history.getEnvironmentalAllergies() != null && !history.getEnvironmentalAllergies().isBlank()) ||
-                (history.getFoodAllergies() != null && !history.getFoodAllergies().isBlank());
+    private List<UserDto> fetchPatients() {
+        return metrics.time(AlertMetrics.Phase.FETCH_PATIENTS, () -> userServiceClient.getUsersByRole("PATIENT"));
     }
 
-    private void createAutoAlert(Long patientId, String message, String severity) {
-        // Avoid duplicate unresolved alerts for the same patient and message
-        if (!alertRepository.existsByPatientIdAndMessageAndResolvedFalse(patientId, message)) {
-            Alert alert = new Alert();
-            alert.setPatientId(patientId);
-            alert.setMessage(message);
-            alert.setSeverity(severity);
-            alert.setResolved(false);
-            alert.setCreatedBy(null); // auto-generated
-            alertRepository.save(alert);
-            log.info("Auto-generated alert for patient {}: {}", patientId, message);
+    private GenerationRunSummary runPatientSweep(GenerationRun.Kind kind, EvaluationScope scope, PatientPartition partition,
+                                                 AlertGenerationPipeline.ProgressListener observer) {
+        return sweep(runJournal.start(kind, partition), scope, partition, observer);
+    }
+
+    private GenerationRunSummary sweep(GenerationRunJournal.ActiveRun run, EvaluationScope scope, PatientPartition partition,
+                                       AlertGenerationPipeline.ProgressListener observer) {
+        try {
+            // Ascending ids make the journal cursor meaningful
+            Long resumeAfter = run.getResumeAfter();
+            List<UserDto> patients = fetchPatients().stream()
+                    .filter(patient -> partition.owns(patient.getId()))
+                    .filter(patient -> resumeAfter == null || patient.getId() > resumeAfter)
+                    .sorted(Comparator.comparing(UserDto::getId))
+                    .collect(Collectors.toList());
+            GenerationRunSummary summary = generationPipeline.run(patients, scope, (progress, lastPatientId) -> {
+                run.onProgress(progress, lastPatientId);
+                observer.onProgress(progress, lastPatientId);
+            });
+            runJournal.finish(run, summary);
+            return summary;
+        } catch (RuntimeException e) {
+            runJournal.fail(run, e);
+            throw e;
         }
     }
 
@@ -126,22 +269,133 @@ public class AlertService {
         if (!requesterRole.equals("PATIENT") || !patientId.equals(requesterId)) {
             throw new RuntimeException("Access denied: You can only view your own alerts");
         }
-        return alertRepository.findByPatientId(patientId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return responseMapper.toResponses(alertRepository.findByPatientId(patientId));
     }
 
     // ------------------- Caregiver View -------------------
     public List<AlertResponse> getAlertsForCaregiverPatients(Long caregiverId) {
-        // Fetch patients assigned to this caregiver from medical-history-service
-        List<UserDto> assignedPatients = medicalHistoryClient.getAssignedPatientsForCaregiver(); // <- no argument
-        List<Long> patientIds = assignedPatients.stream().map(UserDto::getId).collect(Collectors.toList());
+        List<Long> patientIds = getAssignedPatientIds(caregiverId);
         if (patientIds.isEmpty()) {
             return List.of();
         }
-        return alertRepository.findByPatientIdIn(patientIds).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<AlertResponse> alerts = responseMapper.toResponses(alertRepository.findByPatientIdIn(patientIds));
+        metrics.recordCaregiverResponse(alerts.size());
+        return alerts;
+    }
+
+    private List<Long> getAssignedPatientIds(Long caregiverId) {
+        return assignmentIndex.getPatientIds(caregiverId);
+    }
+
+    // ------------------- Live Stream (SSE) -------------------
+    public SseEmitter streamAlertsForCaregiverPatients(Long caregiverId) {
+        return alertStreamService.subscribe(Set.copyOf(getAssignedPatientIds(caregiverId)));
+    }
+
+    // An empty patient list subscribes the provider to every patient
+    public SseEmitter streamAlertsForProvider(List<Long> patientIds) {
+        return alertStreamService.subscribe(patientIds == null || patientIds.isEmpty() ? null : Set.copyOf(patientIds));
+    }
+
+    // ------------------- Paged Views (keyset on createdAt, id) -------------------
+    public AlertPage getAlertPageForPatient(Long patientId, Long requesterId, String requesterRole, AlertQuery query) {
+        if (!requesterRole.equals("PATIENT") || !patientId.equals(requesterId)) {
+            throw new RuntimeException("Access denied: You can only view your own alerts");
+        }
+        return findPage(List.of(patientId), query);
+    }
+
+    public AlertPage getAlertPageForCaregiverPatients(Long caregiverId, AlertQuery query) {
+        List<Long> patientIds = getAssignedPatientIds(caregiverId);
+        if (patientIds.isEmpty()) {
+            return new AlertPage(List.of(), null);
+        }
+        AlertPage page = findPage(patientIds, query);
+        metrics.recordCaregiverResponse(page.getItems().size());
+        return page;
+    }
+
+    public AlertPage getAlertPageByPatientId(Long patientId, AlertQuery query) {
+        return findPage(List.of(patientId), query);
+    }
+
+    // ------------------- Triage (open alerts, most severe first) -------------------
+    public List<AlertResponse> getTriageAlerts(Collection<Long> patientIds, AlertSeverity minSeverity, Integer limit) {
+        if (patientIds.isEmpty()) {
+            return List.of();
+        }
+        PageRequest top = PageRequest.of(0, limit != null ? Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) : DEFAULT_TRIAGE_SIZE);
+        List<Alert> alerts = patientIds.size() == 1
+                ? alertRepository.findTopOpenBySeverity(patientIds.iterator().next(), minSeverity, top)
+                : alertRepository.findTopOpenBySeverityForPatients(patientIds, minSeverity, top);
+        return responseMapper.toResponses(alerts);
+    }
+
+    public List<AlertResponse> getTriageAlertsForCaregiverPatients(Long caregiverId, AlertSeverity minSeverity, Integer limit) {
+        return getTriageAlerts(getAssignedPatientIds(caregiverId), minSeverity, limit);
+    }
+
+    // ------------------- Summary Counters -------------------
+    // No patientIds: every patient that ever had an alert
+    public List<AlertSummaryResponse> getAlertSummaries(List<Long> patientIds) {
+        return patientIds == null || patientIds.isEmpty()
+                ? alertSummaryService.getAllSummaries()
+                : alertSummaryService.getSummaries(patientIds);
+    }
+
+    public List<AlertSummaryResponse> getAlertSummariesForCaregiverPatients(Long caregiverId) {
+        return alertSummaryService.getSummaries(getAssignedPatientIds(caregiverId));
+    }
+
+    // ------------------- Archived History -------------------
+    public AlertPage getArchivedAlertPageForPatient(Long patientId, Long requesterId, String requesterRole, AlertQuery query) {
+        if (!requesterRole.equals("PATIENT") || !patientId.equals(requesterId)) {
+            throw new RuntimeException("Access denied: You can only view your own alerts");
+        }
+        return getArchivedAlertPage(patientId, query);
+    }
+
+    public AlertPage getArchivedAlertPage(Long patientId, AlertQuery query) {
+        int size = pageSize(query);
+        AlertCursor cursor = cursor(query);
+        List<ArchivedAlert> archived = alertPageReader.findArchivedPage(patientId, query, cursor, size + 1);
+
+        String nextCursor = null;
+        if (archived.size() > size) {
+            archived = archived.subList(0, size);
+            ArchivedAlert last = archived.get(size - 1);
+            nextCursor = new AlertCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        String patientName = UserDirectory.displayName(userDirectory.getUsers(List.of(patientId)).get(patientId));
+        List<AlertResponse> items = new ArrayList<>(archived.size());
+        for (ArchivedAlert alert : archived) {
+            items.add(responseMapper.toResponse(alert, patientName));
+        }
+        return new AlertPage(items, nextCursor);
+    }
+
+    private int pageSize(AlertQuery query) {
+        return query.getSize() != null ? Math.min(Math.max(query.getSize(), 1), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+    }
+
+    private AlertCursor cursor(AlertQuery query) {
+        return query.getCursor() != null && !query.getCursor().isBlank() ? AlertCursor.decode(query.getCursor()) : null;
+    }
+
+    private AlertPage findPage(Collection<Long> patientIds, AlertQuery query) {
+        int size = pageSize(query);
+        AlertCursor cursor = cursor(query);
+
+        // One extra row tells whether another page exists
+        List<Alert> alerts = alertPageReader.findPage(patientIds, query, cursor, size + 1);
+
+        String nextCursor = null;
+        if (alerts.size() > size) {
+            alerts = alerts.subList(0, size);
+            Alert last = alerts.get(size - 1);
+            nextCursor = new AlertCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new AlertPage(responseMapper.toResponses(alerts), nextCursor);
     }
 
     // ------------------- Provider Operations -------------------
@@ -161,7 +415,8 @@ public class AlertService {
         alert.setResolved(false);
         alert.setCreatedBy(providerId);
         alert = alertRepository.save(alert);
-        return mapToResponse(alert);
+        eventPublisher.publishEvent(AlertChangeEvent.of(AlertChangeEvent.Type.CREATED, List.of(alert)));
+        return responseMapper.toResponse(alert);
     }
 
     @Transactional
@@ -171,8 +426,10 @@ public class AlertService {
         log.info("Provider {} updating alert {}", providerId, alertId);
         alert.setMessage(request.getMessage());
         alert.setSeverity(request.getSeverity());
-        alert = alertRepository.save(alert);
-        return mapToResponse(alert);
+        // Flushed so the summary recount triggered by the event sees the new severity
+        alert = alertRepository.saveAndFlush(alert);
+        eventPublisher.publishEvent(AlertChangeEvent.of(AlertChangeEvent.Type.UPDATED, List.of(alert)));
+        return responseMapper.toResponse(alert);
     }
 
     @Transactional
@@ -181,42 +438,78 @@ public class AlertService {
                 .orElseThrow(() -> new RuntimeException("Alert not found"));
         log.info("Provider {} deleting alert {}", providerId, alertId);
         alertRepository.delete(alert);
+        eventPublisher.publishEvent(AlertChangeEvent.of(AlertChangeEvent.Type.DELETED, List.of(alert)));
     }
 
     @Transactional
     public AlertResponse resolveAlert(Long alertId, Long providerId) {
         Alert alert = alertRepository.findById(alertId)
                 .orElseThrow(() -> new RuntimeException("Alert not found"));
+        if (alert.isResolved()) {
+            return responseMapper.toResponse(alert);
+        }
         log.info("Provider {} resolving alert {}", providerId, alertId);
         alert.setResolved(true);
         alert = alertRepository.save(alert);
-        return mapToResponse(alert);
+        eventPublisher.publishEvent(AlertChangeEvent.of(AlertChangeEvent.Type.RESOLVED, List.of(alert)));
+        return responseMapper.toResponse(alert);
     }
 
-    public List<AlertResponse> getAlertsByPatientId(Long patientId) {
-        return alertRepository.findByPatientId(patientId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    // ------------------- Bulk Operations (one statement, counts only) -------------------
+    @Transactional
+    public BulkAlertResult resolveAlerts(BulkAlertRequest request, Long providerId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AlertChange> changes;
+        int count;
+        if (hasAlertIds(request)) {
+            changes = alertRepository.lockChangesByIdIn(request.getAlertIds()).stream()
+                    .filter(change -> !change.resolved())
+                    .toList();
+            count = changes.isEmpty() ? 0 : alertRepository.resolveByIdIn(request.getAlertIds(), now);
+        } else {
+            Long patientId = requirePatientId(request);
+            changes = alertRepository.lockChangesMatching(patientId, request.getSeverity(), false, request.getBefore());
+            count = changes.isEmpty() ? 0 : alertRepository.resolveMatching(patientId, request.getSeverity(), request.getBefore(), now);
+        }
+        log.info("Provider {} resolved {} alerts", providerId, count);
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new AlertChangeEvent(AlertChangeEvent.Type.RESOLVED, changes));
+        }
+        return new BulkAlertResult(count);
     }
 
-    // ------------------- Helper -------------------
-    private AlertResponse mapToResponse(Alert alert) {
-        AlertResponse resp = new AlertResponse();
-        resp.setId(alert.getId());
-        resp.setPatientId(alert.getPatientId());
-        // Fetch patient name from user-service
-        try {
-            UserDto patient = userServiceClient.getUserById(alert.getPatientId());
-            resp.setPatientName(patient.getFirstName() + " " + patient.getLastName());
-        } catch (Exception e) {
-            resp.setPatientName("Unknown");
-            log.error("Failed to fetch patient name for id {}", alert.getPatientId(), e);
+    @Transactional
+    public BulkAlertResult deleteAlerts(BulkAlertRequest request, Long providerId) {
+        List<AlertChange> changes;
+        int count;
+        if (hasAlertIds(request)) {
+            changes = alertRepository.lockChangesByIdIn(request.getAlertIds());
+            count = changes.isEmpty() ? 0 : alertRepository.deleteByIdIn(request.getAlertIds());
+        } else {
+            Long patientId = requirePatientId(request);
+            changes = alertRepository.lockChangesMatching(patientId, request.getSeverity(), request.getResolved(), request.getBefore());
+            count = changes.isEmpty() ? 0 : alertRepository.deleteMatching(patientId, request.getSeverity(), request.getResolved(), request.getBefore());
+        }
+        log.info("Provider {} deleted {} alerts", providerId, count);
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new AlertChangeEvent(AlertChangeEvent.Type.DELETED, changes));
+        }
+        return new BulkAlertResult(count);
+    }
+
+    private static boolean hasAlertIds(BulkAlertRequest request) {
+        return request.getAlertIds() != null && !request.getAlertIds().isEmpty();
+    }
+
+    // A filter without a patient would touch every alert in the system
+    private static Long requirePatientId(BulkAlertRequest request) {
+        if (request.getPatientId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Either alertIds or patientId is required");
         }
-        resp.setMessage(alert.getMessage());
-        resp.setSeverity(alert.getSeverity());
-        resp.setResolved(alert.isResolved());
-        resp.setCreatedAt(alert.getCreatedAt());
-        resp.setUpdatedAt(alert.getUpdatedAt());
-        return resp;
+        return request.getPatientId();
+    }
+
+    public List<AlertResponse> getAlertsByPatientId(Long patientId) {
+        return responseMapper.toResponses(alertRepository.findByPatientId(patientId));
     }
-}
\ No newline at end of file
+}
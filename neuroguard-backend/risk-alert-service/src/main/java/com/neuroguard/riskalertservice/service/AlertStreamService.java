@@ -0,0 +1,135 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.AlertChange;
+import com.neuroguard.riskalertservice.dto.AlertStreamEvent;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes alert changes to connected caregivers and providers over Server-Sent Events.
+ * <p>
+ * Subscriptions live in memory on this instance. Each committed {@link AlertChangeEvent} is
+ * filtered against the subscribed patient sets on the publishing thread. Everything else happens
+ * on a single dispatcher thread: patient names come from the {@link UserDirectory} cache (the
+ * dispatcher has no caller token, so a patient not cached yet is sent as "Unknown"), and the events
+ * are written to the emitters there, so a slow client never holds up alert generation or a provider
+ * request. Events carry ids and severity only; clients load the full alert when they need it.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlertStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertStreamService.class);
+
+    private final UserDirectory userDirectory;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "alert-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${alert.stream.timeout:30m}")
+    private Duration timeout;
+
+    // patientIds == null subscribes to every patient
+    public SseEmitter subscribe(Set<Long> patientIds) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter, patientIds);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        log.debug("Alert stream opened ({} subscribers)", subscriptions.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertChange(AlertChangeEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        List<AlertChange> watched = event.alerts().stream()
+                .filter(change -> subscriptions.stream().anyMatch(s -> s.watches(change.patientId())))
+                .toList();
+        if (watched.isEmpty()) {
+            return;
+        }
+        String eventName = event.type().name().toLowerCase();
+        dispatcher.execute(() -> deliver(eventName, watched));
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedRateString = "${alert.stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (!subscriptions.isEmpty()) {
+            dispatcher.execute(() -> {
+                for (Subscription subscription : subscriptions) {
+                    send(subscription, SseEmitter.event().comment("keepalive"));
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscription subscription : new ArrayList<>(subscriptions)) {
+            subscription.emitter().complete();
+        }
+    }
+
+    private void deliver(String eventName, List<AlertChange> changes) {
+        Map<Long, UserDto> patients = userDirectory.getCachedUsers(changes.stream().map(AlertChange::patientId).distinct().toList());
+        List<AlertStreamEvent> events = changes.stream()
+                .map(c -> new AlertStreamEvent(c.id(), c.patientId(), UserDirectory.displayName(patients.get(c.patientId())), c.severity()))
+                .toList();
+        for (Subscription subscription : subscriptions) {
+            for (AlertStreamEvent event : events) {
+                if (subscription.watches(event.getPatientId())
+                        && !send(subscription, SseEmitter.event().name(eventName).id(String.valueOf(event.getId())).data(event))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter().send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping alert stream subscriber: {}", e.getMessage());
+            subscriptions.remove(subscription);
+            subscription.emitter().completeWithError(e);
+            return false;
+        }
+    }
+
+    private record Subscription(SseEmitter emitter, Set<Long> patientIds) {
+
+        boolean watches(Long patientId) {
+            return patientIds == null || patientIds.contains(patientId);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.AlertChange;
+import com.neuroguard.riskalertservice.dto.AlertSummaryResponse;
+import com.neuroguard.riskalertservice.entity.PatientAlertSummary;
+import com.neuroguard.riskalertservice.repository.AlertRepository;
+import com.neuroguard.riskalertservice.repository.PatientAlertSummaryRepository;
+import com.neuroguard.riskalertservice.repository.PatientAlertSummaryWriter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-patient open-alert counts by severity, so dashboards read one row per patient instead of every alert.
+ * <p>
+ * The counters follow {@link AlertChangeEvent}s. The listener is a plain (synchronous) one, so it runs inside
+ * the transaction that changed the alerts and the counts commit or roll back together with them.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlertSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertSummaryService.class);
+    private static final String REBUILD_LEASE = "alert-summary-rebuild";
+
+    private final PatientAlertSummaryRepository summaryRepository;
+    private final PatientAlertSummaryWriter summaryWriter;
+    private final AlertRepository alertRepository;
+    private final GenerationLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${alert.partitioning.lease-ttl:2h}")
+    private Duration leaseTtl;
+
+    @EventListener
+    public void onAlertChange(AlertChangeEvent event) {
+        switch (event.type()) {
+            case CREATED -> apply(event.alerts(), 1, true);
+            case RESOLVED -> apply(event.alerts(), -1, false);
+            // Only alerts that were still open are in the counts
+            case DELETED -> apply(event.alerts().stream().filter(change -> !change.resolved()).toList(), -1, false);
+            // The previous severity is not part of the event; recount the few patients involved instead
+            case UPDATED -> summaryWriter.rebuild(event.alerts().stream().map(AlertChange::patientId)
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+    }
+
+    // Summaries of the given patients, in the given order; patients without alerts get zero counts
+    public List<AlertSummaryResponse> getSummaries(Collection<Long> patientIds) {
+        Map<Long, PatientAlertSummary> summaries = summaryRepository.findByPatientIdIn(patientIds).stream()
+                .collect(Collectors.toMap(PatientAlertSummary::getPatientId, Function.identity()));
+        List<AlertSummaryResponse> responses = new ArrayList<>(patientIds.size());
+        for (Long patientId : patientIds) {
+            PatientAlertSummary summary = summaries.get(patientId);
+            if (summary == null) {
+                summary = new PatientAlertSummary();
+                summary.setPatientId(patientId);
+            }
+            responses.add(toResponse(summary));
+        }
+        return responses;
+    }
+
+    public List<AlertSummaryResponse> getAllSummaries() {
+        return summaryRepository.findAllByOrderByPatientId().stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    // First start after the table was introduced: count the existing alerts once, on one replica
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (summaryRepository.count() > 0 || alertRepository.count() == 0) {
+            return;
+        }
+        leaseManager.runExclusively(REBUILD_LEASE, leaseTtl, () -> transactionTemplate.execute(status -> {
+            int patients = summaryWriter.rebuildAll();
+            log.info("Built alert summaries for {} patients", patients);
+            return patients;
+        }));
+    }
+
+    private void apply(List<AlertChange> alerts, int sign, boolean created) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        Map<Long, int[]> counts = new TreeMap<>();
+        Map<Long, LocalDateTime> latest = new TreeMap<>();
+        for (AlertChange alert : alerts) {
+            int[] count = counts.computeIfAbsent(alert.patientId(), id -> new int[3]);
+            if (alert.severity() == null) {
+                count[0] += sign;
+            } else {
+                switch (alert.severity()) {
+                    case CRITICAL -> count[2] += sign;
+                    case WARNING -> count[1] += sign;
+                    case INFO -> count[0] += sign;
+                }
+            }
+            if (created && alert.createdAt() != null) {
+                latest.merge(alert.patientId(), alert.createdAt(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        List<PatientAlertSummaryWriter.Delta> deltas = new ArrayList<>(counts.size());
+        counts.forEach((patientId, count) -> deltas.add(new PatientAlertSummaryWriter.Delta(
+                patientId, count[2], count[1], count[0], latest.get(patientId))));
+        summaryWriter.apply(deltas);
+    }
+
+    private AlertSummaryResponse toResponse(PatientAlertSummary summary) {
+        AlertSummaryResponse response = new AlertSummaryResponse();
+        response.setPatientId(summary.getPatientId());
+        response.setOpenCritical(summary.getOpenCritical());
+        response.setOpenWarning(summary.getOpenWarning());
+        response.setOpenInfo(summary.getOpenInfo());
+        response.setLastAlertAt(summary.getLastAlertAt());
+        return response;
+    }
+}
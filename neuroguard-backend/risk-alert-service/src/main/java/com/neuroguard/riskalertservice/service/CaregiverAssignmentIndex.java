@@ -0,0 +1,136 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.client.MedicalHistoryClient;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.CaregiverAssignment;
+import com.neuroguard.riskalertservice.entity.CaregiverSync;
+import com.neuroguard.riskalertservice.repository.CaregiverAssignmentRepository;
+import com.neuroguard.riskalertservice.repository.CaregiverSyncRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caregiver -> patient assignments materialized in the local database, so caregiver alert views
+ * are answered without calling medical-history-service.
+ * <p>
+ * The index is kept fresh by alert generation: every batch of medical histories the pipeline reads
+ * (the 15-minute change feed and the nightly full sweep) is authoritative for its patients and
+ * replaces their rows. Those batches only ever cover some patients, so rows alone do not tell whether
+ * a caregiver's list is complete: a caregiver is served locally only after their full list has been
+ * copied from medical-history-service (recorded in caregiver_sync), and is copied again once that is
+ * older than {@code alert.assignments.sync-ttl}. A caregiver with no patients is therefore one remote
+ * call per TTL, not one per request.
+ */
+@Service
+@RequiredArgsConstructor
+public class CaregiverAssignmentIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CaregiverAssignmentIndex.class);
+
+    private final CaregiverAssignmentRepository assignmentRepository;
+    private final CaregiverSyncRepository syncRepository;
+    private final MedicalHistoryClient medicalHistoryClient;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${alert.assignments.sync-ttl:24h}")
+    private Duration syncTtl;
+
+    public List<Long> getPatientIds(Long caregiverId) {
+        Optional<CaregiverSync> sync = syncRepository.findById(caregiverId);
+        if (sync.isPresent() && sync.get().getSyncedAt().isAfter(LocalDateTime.now().minus(syncTtl))) {
+            return assignmentRepository.findPatientIdsByCaregiverId(caregiverId);
+        }
+
+        List<Long> patientIds;
+        try {
+            patientIds = medicalHistoryClient.getAssignedPatientsForCaregiver().stream()
+                    .map(UserDto::getId).distinct().toList();
+        } catch (RuntimeException e) {
+            if (sync.isEmpty()) {
+                throw e;
+            }
+            // An expired copy is still better than no answer
+            log.warn("Failed to re-sync assignments of caregiver {}, serving the copy of {}: {}",
+                    caregiverId, sync.get().getSyncedAt(), e.getMessage());
+            return assignmentRepository.findPatientIdsByCaregiverId(caregiverId);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> replace(caregiverId, patientIds));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request stored them first
+            log.debug("Assignments for caregiver {} already stored", caregiverId);
+        }
+        return patientIds;
+    }
+
+    // Makes the caregiver's rows exactly the remote list and marks the caregiver complete
+    private void replace(Long caregiverId, List<Long> patientIds) {
+        Set<Long> missing = new HashSet<>(patientIds);
+        List<CaregiverAssignment> stale = new ArrayList<>();
+        for (CaregiverAssignment existing : assignmentRepository.findByCaregiverId(caregiverId)) {
+            if (!missing.remove(existing.getPatientId())) {
+                stale.add(existing);
+            }
+        }
+        if (!stale.isEmpty()) {
+            assignmentRepository.deleteAllInBatch(stale);
+        }
+        assignmentRepository.saveAll(missing.stream()
+                .map(patientId -> new CaregiverAssignment(caregiverId, patientId))
+                .toList());
+        syncRepository.saveAndFlush(new CaregiverSync(caregiverId, LocalDateTime.now()));
+    }
+
+    // Replaces the rows of the given patients with the caregivers on their histories; no history means no caregivers
+    @Transactional
+    public void refresh(Collection<Long> patientIds, Collection<MedicalHistorySummary> histories) {
+        Map<Long, Set<Long>> wanted = new HashMap<>();
+        for (Long patientId : patientIds) {
+            wanted.put(patientId, new HashSet<>());
+        }
+        for (MedicalHistorySummary history : histories) {
+            if (history.getCaregiverIds() != null) {
+                wanted.computeIfAbsent(history.getPatientId(), id -> new HashSet<>()).addAll(history.getCaregiverIds());
+            }
+        }
+
+        // Only the differences are written, so an unchanged batch costs one read
+        List<CaregiverAssignment> stale = new ArrayList<>();
+        for (CaregiverAssignment existing : assignmentRepository.findByPatientIdIn(wanted.keySet())) {
+            if (!wanted.get(existing.getPatientId()).remove(existing.getCaregiverId())) {
+                stale.add(existing);
+            }
+        }
+        List<CaregiverAssignment> added = new ArrayList<>();
+        wanted.forEach((patientId, caregiverIds) -> caregiverIds.forEach(caregiverId ->
+                added.add(new CaregiverAssignment(caregiverId, patientId))));
+
+        if (!stale.isEmpty()) {
+            assignmentRepository.deleteAllInBatch(stale);
+        }
+        if (!added.isEmpty()) {
+            assignmentRepository.saveAll(added);
+        }
+        if (!stale.isEmpty() || !added.isEmpty()) {
+            log.debug("Caregiver assignments synced: {} added, {} removed", added.size(), stale.size());
+        }
+    }
+}
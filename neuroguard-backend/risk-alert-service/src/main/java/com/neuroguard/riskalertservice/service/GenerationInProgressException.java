@@ -0,0 +1,11 @@
+package com.neuroguard.riskalertservice.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class GenerationInProgressException extends RuntimeException {
+    public GenerationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,144 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.repository.GenerationLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Database leases for jobs that must run on exactly one replica at a time (the change feed with its
+ * global watermark, alert archival). A replica that dies keeps the lease only until it expires.
+ * <p>
+ * While the work runs, a heartbeat extends the lease by its ttl every {@code alert.partitioning.lease-renew-interval}
+ * (at most a third of the ttl), so long runs keep it. If a renewal finds the lease taken over, the
+ * worker thread is interrupted – the generation pipeline and archival stop at the next batch – and
+ * the call fails with {@link GenerationInProgressException}.
+ */
+@Service
+@RequiredArgsConstructor
+public class GenerationLeaseManager {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationLeaseManager.class);
+
+    private final GenerationLeaseRepository leaseRepository;
+    private final PatientPartitionResolver partitionResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${alert.partitioning.lease-renew-interval:5m}")
+    private Duration renewInterval;
+
+    // Runs the work only if this replica gets the lease; empty when another replica holds it
+    public <T> Optional<T> runExclusively(String name, Duration ttl, Supplier<T> work) {
+        String owner = partitionResolver.instanceId();
+        if (!tryAcquire(name, owner, ttl)) {
+            log.debug("Lease {} is held by another instance, skipping", name);
+            return Optional.empty();
+        }
+        HeldLease lease = new HeldLease(name, owner, ttl, Thread.currentThread());
+        long period = Math.max(1000, Math.min(renewInterval.toMillis(), ttl.toMillis() / 3));
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> renew(lease), period, period, TimeUnit.MILLISECONDS);
+        try {
+            T result = work.get();
+            if (lease.lost) {
+                throw new GenerationInProgressException("Lease " + name + " was taken over by another instance");
+            }
+            return Optional.ofNullable(result);
+        } finally {
+            renewal.cancel(false);
+            synchronized (lease) {
+                lease.done = true;
+            }
+            if (lease.lost) {
+                // The interrupt was only meant to stop this work, not whatever the thread runs next
+                Thread.interrupted();
+            } else {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> leaseRepository.release(name, owner, LocalDateTime.now()));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to release lease {}, it expires on its own: {}", name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    private void renew(HeldLease lease) {
+        Integer renewed;
+        try {
+            LocalDateTime expiresAt = LocalDateTime.now().plus(lease.ttl);
+            renewed = transactionTemplate.execute(status -> leaseRepository.renew(lease.name, lease.owner, expiresAt));
+        } catch (RuntimeException e) {
+            // Try again on the next beat; the lease is only lost once another replica takes it over
+            log.warn("Failed to renew lease {}: {}", lease.name, e.getMessage());
+            return;
+        }
+        if (renewed != null && renewed > 0) {
+            return;
+        }
+        synchronized (lease) {
+            if (!lease.done && !lease.lost) {
+                log.error("Lease {} was taken over by another instance, stopping the work", lease.name);
+                lease.lost = true;
+                lease.worker.interrupt();
+            }
+        }
+    }
+
+    private boolean tryAcquire(String name, String owner, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        Integer taken = transactionTemplate.execute(status -> leaseRepository.takeOver(name, owner, expiresAt, now));
+        if (taken != null && taken > 0) {
+            return true;
+        }
+        if (leaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.create(name, owner, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another replica created it first
+            return false;
+        }
+    }
+
+    private static final class HeldLease {
+        private final String name;
+        private final String owner;
+        private final Duration ttl;
+        private final Thread worker;
+        private volatile boolean lost;
+        private boolean done;
+
+        private HeldLease(String name, String owner, Duration ttl, Thread worker) {
+            this.name = name;
+            this.owner = owner;
+            this.ttl = ttl;
+            this.worker = worker;
+        }
+    }
+}
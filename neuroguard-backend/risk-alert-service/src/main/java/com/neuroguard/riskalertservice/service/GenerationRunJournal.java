@@ -0,0 +1,275 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import com.neuroguard.riskalertservice.repository.GenerationRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persisted journal of alert generation runs.
+ * <p>
+ * Only one run executes at a time in this instance – {@link #start} refuses to open a second one.
+ * Every run is checkpointed after each completed batch (cursor and counts). A FULL or TIME_BASED
+ * run that did not finish (process died or the run failed) is resumed from its checkpoint by the
+ * next run of the same kind, as long as the checkpoint is younger than
+ * {@code alert.generation.resume-window} and the replica still owns the same patient partition.
+ * Re-evaluating a few patients after the cursor is harmless, open alerts are deduplicated.
+ * <p>
+ * A RUNNING row checkpointed (or started) within {@code alert.generation.stale-after} may belong to a
+ * live run on another replica, so it is neither resumed nor abandoned. Rows are versioned: a replica
+ * that still writes a row someone else took over fails instead of overwriting it.
+ */
+@Service
+@RequiredArgsConstructor
+public class GenerationRunJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationRunJournal.class);
+    private static final List<GenerationRun.Status> UNFINISHED = List.of(GenerationRun.Status.RUNNING, GenerationRun.Status.FAILED);
+
+    private final GenerationRunRepository runRepository;
+    private final AtomicReference<ActiveRun> current = new AtomicReference<>();
+
+    @Value("${alert.generation.resume-window:24h}")
+    private Duration resumeWindow;
+
+    @Value("${alert.generation.stale-after:15m}")
+    private Duration staleAfter;
+
+    public ActiveRun start(GenerationRun.Kind kind) {
+        return start(kind, PatientPartition.ALL);
+    }
+
+    public ActiveRun start(GenerationRun.Kind kind, PatientPartition partition) {
+        ActiveRun active = new ActiveRun();
+        if (!current.compareAndSet(null, active)) {
+            ActiveRun running = current.get();
+            throw new GenerationInProgressException("Alert generation run " +
+                    (running != null && running.run != null ? running.run.getId() + " (" + running.run.getKind() + ")" : "") +
+                    " is already in progress");
+        }
+        try {
+            active.run = open(kind, partition);
+            active.base = snapshot(active.run);
+            return active;
+        } catch (RuntimeException e) {
+            current.set(null);
+            throw e;
+        }
+    }
+
+    public void checkpoint(ActiveRun active, GenerationRunSummary progress, Long lastPatientId) {
+        synchronized (active) {
+            apply(active, progress);
+            active.run.setLastPatientId(lastPatientId);
+            active.run.setCheckpointAt(LocalDateTime.now());
+            active.run = runRepository.save(active.run);
+        }
+    }
+
+    // Per-patient failures are counted, not fatal; only an interrupted pipeline leaves the run resumable
+    public void finish(ActiveRun active, GenerationRunSummary summary) {
+        if (Thread.currentThread().isInterrupted()) {
+            close(active, summary, GenerationRun.Status.FAILED, "interrupted");
+        } else {
+            close(active, summary, GenerationRun.Status.COMPLETED, null);
+        }
+    }
+
+    public void fail(ActiveRun active, Exception error) {
+        close(active, null, GenerationRun.Status.FAILED, error.getMessage());
+    }
+
+    public boolean isOpen(ActiveRun active) {
+        return current.get() == active;
+    }
+
+    // Whether a run of this kind and partition was left unfinished within the resume window, if nothing is running now
+    public boolean hasResumableRun(GenerationRun.Kind kind, PatientPartition partition) {
+        if (current.get() != null) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return runRepository.findByKindAndStatusInOrderByIdDesc(kind, UNFINISHED).stream()
+                .anyMatch(run -> !isLive(run, now) && isResumable(run, partition, now));
+    }
+
+    public Optional<GenerationRun> currentRun() {
+        ActiveRun active = current.get();
+        if (active == null || active.run == null) {
+            return Optional.empty();
+        }
+        synchronized (active) {
+            return Optional.of(snapshot(active.run));
+        }
+    }
+
+    // Throughput of the current attempt as of its last checkpoint
+    public double currentPatientsPerSecond() {
+        ActiveRun active = current.get();
+        if (active == null) {
+            return 0;
+        }
+        synchronized (active) {
+            return active.attemptProgress != null ? active.attemptProgress.getPatientsPerSecond() : 0;
+        }
+    }
+
+    // As of its last checkpoint, whichever replica runs it
+    public Optional<GenerationRun> findRun(Long id) {
+        return runRepository.findById(id);
+    }
+
+    public List<GenerationRun> recentRuns() {
+        return runRepository.findTop10ByOrderByIdDesc();
+    }
+
+    private GenerationRun open(GenerationRun.Kind kind, PatientPartition partition) {
+        LocalDateTime now = LocalDateTime.now();
+        GenerationRun resumed = null;
+        for (GenerationRun unfinished : runRepository.findByKindAndStatusInOrderByIdDesc(kind, UNFINISHED)) {
+            // Rows of other replicas' partitions are theirs to resume
+            if (unfinished.getShardCount() != null && unfinished.getShardCount() == partition.count()
+                    && unfinished.getShardIndex() != partition.index()) {
+                continue;
+            }
+            // Still heartbeating, most likely on another replica that holds the lease
+            if (isLive(unfinished, now)) {
+                continue;
+            }
+            if (resumed == null && isResumable(unfinished, partition, now)) {
+                resumed = unfinished;
+                continue;
+            }
+            unfinished.setStatus(GenerationRun.Status.ABANDONED);
+            unfinished.setFinishedAt(now);
+            runRepository.save(unfinished);
+        }
+
+        if (resumed != null) {
+            resumed.setStatus(GenerationRun.Status.RUNNING);
+            resumed.setAttempts(resumed.getAttempts() + 1);
+            resumed.setError(null);
+            log.info("Resuming {} alert generation run {} after patient {}", kind, resumed.getId(), resumed.getLastPatientId());
+            return runRepository.save(resumed);
+        }
+
+        GenerationRun run = new GenerationRun();
+        run.setKind(kind);
+        run.setStatus(GenerationRun.Status.RUNNING);
+        run.setShardIndex(partition.index());
+        run.setShardCount(partition.count());
+        run.setAttempts(1);
+        run.setStartedAt(now);
+        return runRepository.save(run);
+    }
+
+    // The change feed resumes through its own watermark, only full-list runs of the same partition carry a usable cursor
+    private boolean isResumable(GenerationRun run, PatientPartition partition, LocalDateTime now) {
+        return run.getKind() != GenerationRun.Kind.CHANGES
+                && partition.equals(partitionOf(run))
+                && run.getLastPatientId() != null
+                && run.getCheckpointAt() != null
+                && run.getCheckpointAt().isAfter(now.minus(resumeWindow));
+    }
+
+    // Checkpoints come after every batch, a running row without one for a while has lost its worker
+    private boolean isLive(GenerationRun run, LocalDateTime now) {
+        LocalDateTime heartbeat = run.getCheckpointAt() != null ? run.getCheckpointAt() : run.getStartedAt();
+        return run.getStatus() == GenerationRun.Status.RUNNING
+                && heartbeat != null
+                && heartbeat.isAfter(now.minus(staleAfter));
+    }
+
+    private void close(ActiveRun active, GenerationRunSummary summary, GenerationRun.Status status, String error) {
+        try {
+            synchronized (active) {
+                if (summary != null) {
+                    apply(active, summary);
+                }
+                active.run.setStatus(status);
+                active.run.setFinishedAt(LocalDateTime.now());
+                active.run.setError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+                active.run = runRepository.save(active.run);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to close alert generation run {}: {}", active.run.getId(), e.getMessage());
+        } finally {
+            current.compareAndSet(active, null);
+        }
+    }
+
+    // Counts of a resumed run add up across attempts; the total is the one of the first attempt
+    private void apply(ActiveRun active, GenerationRunSummary progress) {
+        GenerationRun run = active.run;
+        if (run.getAttempts() == 1) {
+            run.setPatientsTotal(progress.getPatientsTotal());
+        }
+        run.setPatientsProcessed(active.base.getPatientsProcessed() + progress.getPatientsProcessed());
+        run.setAlertsCreated(active.base.getAlertsCreated() + progress.getAlertsCreated());
+        run.setFailures(active.base.getFailures() + progress.getFailures());
+        active.attemptProgress = progress;
+    }
+
+    private static PatientPartition partitionOf(GenerationRun run) {
+        return run.getShardCount() == null ? PatientPartition.ALL : new PatientPartition(run.getShardIndex(), run.getShardCount());
+    }
+
+    private static GenerationRun snapshot(GenerationRun run) {
+        GenerationRun copy = new GenerationRun();
+        copy.setId(run.getId());
+        copy.setKind(run.getKind());
+        copy.setStatus(run.getStatus());
+        copy.setShardIndex(run.getShardIndex());
+        copy.setShardCount(run.getShardCount());
+        copy.setLastPatientId(run.getLastPatientId());
+        copy.setAttempts(run.getAttempts());
+        copy.setPatientsTotal(run.getPatientsTotal());
+        copy.setPatientsProcessed(run.getPatientsProcessed());
+        copy.setAlertsCreated(run.getAlertsCreated());
+        copy.setFailures(run.getFailures());
+        copy.setStartedAt(run.getStartedAt());
+        copy.setCheckpointAt(run.getCheckpointAt());
+        copy.setFinishedAt(run.getFinishedAt());
+        copy.setError(run.getError());
+        copy.setVersion(run.getVersion());
+        return copy;
+    }
+
+    /**
+     * Handle on the run this instance is executing. Doubles as the pipeline's progress listener.
+     */
+    public class ActiveRun implements AlertGenerationPipeline.ProgressListener {
+        private GenerationRun run;
+        private GenerationRun base;                         // counts carried over from earlier attempts
+        private GenerationRunSummary attemptProgress;       // latest progress of this attempt
+
+        public Long getRunId() {
+            return run.getId();
+        }
+
+        // Patients up to this id were handled by an earlier attempt, null for a fresh run
+        public Long getResumeAfter() {
+            return base.getLastPatientId();
+        }
+
+        @Override
+        public void onProgress(GenerationRunSummary progress, Long lastPatientId) {
+            try {
+                checkpoint(this, progress, lastPatientId);
+            } catch (RuntimeException e) {
+                // A lost checkpoint only means more re-evaluation on resume
+                log.warn("Failed to checkpoint alert generation run {}: {}", run.getId(), e.getMessage());
+            }
+        }
+    }
+}
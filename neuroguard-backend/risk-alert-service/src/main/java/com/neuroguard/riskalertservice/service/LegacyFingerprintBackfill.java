@@ -0,0 +1,90 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.rules.AlertRule;
+import com.neuroguard.riskalertservice.rules.AlertRuleRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Open auto-generated alerts written before rule fingerprints existed have none, so alert generation would
+ * open them a second time. On startup each one is mapped to its rule (by rule id, or by matching the message
+ * against the rule templates for alerts older than the rule id) and gets its fingerprint. Where several open
+ * alerts map to the same fingerprint the newest one takes it and the others stay as they are.
+ * Idempotent: rows are only touched while their fingerprint is NULL, so every replica can run it.
+ */
+@Component
+@RequiredArgsConstructor
+public class LegacyFingerprintBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyFingerprintBackfill.class);
+    private static final int PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AlertRuleRegistry ruleRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Map<String, AlertRule> rulesById = ruleRegistry.getRules().stream()
+                .collect(Collectors.toMap(AlertRule::getId, Function.identity()));
+        int updated = 0;
+        long before = Long.MAX_VALUE;
+        while (true) {
+            // Newest first, so the newest of several equivalent open alerts is the one deduplicated against
+            List<LegacyAlert> page = jdbcTemplate.query(
+                    "SELECT id, patient_id, rule_id, message FROM alert WHERE resolved = false AND rule_fingerprint IS NULL " +
+                            "AND created_by IS NULL AND id < ? ORDER BY id DESC LIMIT " + PAGE_SIZE,
+                    (rs, rowNum) -> new LegacyAlert(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4)),
+                    before);
+            for (LegacyAlert alert : page) {
+                AlertRule rule = alert.ruleId() != null ? rulesById.get(alert.ruleId()) : ruleOf(alert.message());
+                if (rule != null && assign(alert, rule)) {
+                    updated++;
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            before = page.get(page.size() - 1).id();
+        }
+        if (updated > 0) {
+            log.info("Backfilled rule fingerprints of {} open alerts", updated);
+        }
+    }
+
+    private AlertRule ruleOf(String message) {
+        if (message == null) {
+            return null;
+        }
+        for (AlertRule rule : ruleRegistry.getRules()) {
+            if (rule.producedMessage(message)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private boolean assign(LegacyAlert alert, AlertRule rule) {
+        try {
+            return jdbcTemplate.update("UPDATE alert SET rule_id = ?, rule_fingerprint = ? WHERE id = ? AND rule_fingerprint IS NULL",
+                    rule.getId(), Alert.fingerprintOf(rule.getIdentity(), alert.patientId()), alert.id()) > 0;
+        } catch (DuplicateKeyException e) {
+            // A newer open alert already stands for this rule and patient
+            return false;
+        }
+    }
+
+    private record LegacyAlert(long id, long patientId, String ruleId, String message) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.neuroguard.riskalertservice.service;
+
+/**
+ * Slice {@code index} of {@code count} of the patient id space. Replicas of this service each own one
+ * slice, so a sweep over all patients is split between them without overlap.
+ */
+public record PatientPartition(int index, int count) {
+
+    public static final PatientPartition ALL = new PatientPartition(0, 1);
+
+    public boolean owns(Long patientId) {
+        return count <= 1 || Math.floorMod(patientId, count) == index;
+    }
+
+    @Override
+    public String toString() {
+        return (index + 1) + "/" + count;
+    }
+}
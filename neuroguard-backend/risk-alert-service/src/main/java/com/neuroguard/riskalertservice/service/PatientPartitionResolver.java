@@ -0,0 +1,76 @@
+package com.neuroguard.riskalertservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Works out which {@link PatientPartition} this replica owns from the Eureka registry: the UP
+ * instances of this service are ordered by instance id and each takes the slice at its position.
+ * Without a registration (Eureka disabled) or with {@code alert.partitioning.enabled=false} the
+ * replica owns every patient.
+ * <p>
+ * Replicas read the registry independently, so while membership changes two of them may briefly
+ * disagree; the next sweep evens that out and open alerts are deduplicated per patient.
+ */
+@Component
+public class PatientPartitionResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientPartitionResolver.class);
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final String serviceId;
+    private final boolean enabled;
+    private final String fallbackInstanceId = UUID.randomUUID().toString();
+
+    public PatientPartitionResolver(DiscoveryClient discoveryClient,
+                                    ObjectProvider<Registration> registration,
+                                    @Value("${spring.application.name}") String serviceId,
+                                    @Value("${alert.partitioning.enabled:true}") boolean enabled) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.serviceId = serviceId;
+        this.enabled = enabled;
+    }
+
+    public PatientPartition current() {
+        Registration self = registration.getIfAvailable();
+        if (!enabled || self == null || self.getInstanceId() == null) {
+            return PatientPartition.ALL;
+        }
+        TreeSet<String> instanceIds = new TreeSet<>();
+        try {
+            discoveryClient.getInstances(serviceId).stream()
+                    .map(ServiceInstance::getInstanceId)
+                    .filter(Objects::nonNull)
+                    .forEach(instanceIds::add);
+        } catch (Exception e) {
+            log.warn("Could not read {} instances from the registry, processing every patient: {}", serviceId, e.getMessage());
+            return PatientPartition.ALL;
+        }
+        // Our own registration may not have reached the local registry copy yet
+        instanceIds.add(self.getInstanceId());
+        List<String> ordered = new ArrayList<>(instanceIds);
+        PatientPartition partition = new PatientPartition(ordered.indexOf(self.getInstanceId()), ordered.size());
+        log.debug("Instance {} owns patient partition {}", self.getInstanceId(), partition);
+        return partition;
+    }
+
+    // Stable name of this replica, used as lease owner
+    public String instanceId() {
+        Registration self = registration.getIfAvailable();
+        return self != null && self.getInstanceId() != null ? self.getInstanceId() : fallbackInstanceId;
+    }
+}
@@ -0,0 +1,117 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neuroguard.riskalertservice.client.UserServiceClient;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves users from user-service in bulk – one request per {@value #BATCH_SIZE} distinct ids,
+ * however many alerts reference them.
+ * <p>
+ * With {@code user-cache.enabled} the users are kept in a size-bounded local cache with a TTL
+ * ({@code expire-after-write}); an expired entry is loaded again by the next caller, on its thread and
+ * with its bearer token, as Feign only forwards the caller's token. There is no background refresh
+ * for the same reason. Concurrent misses for the same id share one in-flight load. Hit, miss and
+ * eviction counts are published as {@code cache.*} meters with {@code cache=users}.
+ */
+@Component
+public class UserDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDirectory.class);
+    private static final int BATCH_SIZE = 500;         // user-service rejects larger /users/batch requests
+
+    private final UserServiceClient userServiceClient;
+    private final AsyncLoadingCache<Long, UserDto> cache;   // null when caching is disabled
+
+    public UserDirectory(UserServiceClient userServiceClient,
+                         MeterRegistry meterRegistry,
+                         @Value("${user-cache.enabled:true}") boolean cacheEnabled,
+                         @Value("${user-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${user-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userServiceClient = userServiceClient;
+        if (cacheEnabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats()
+                    // Load on the caller's thread so Feign still sees the request's bearer token
+                    .executor(Runnable::run)
+                    .buildAsync(new UserLoader());
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "users");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    // Users that cannot be resolved are missing from the returned map
+    public Map<Long, UserDto> getUsers(Collection<Long> ids) {
+        if (cache == null) {
+            return fetch(ids);
+        }
+        try {
+            return new HashMap<>(cache.synchronous().getAll(ids));
+        } catch (Exception e) {
+            log.error("Failed to load {} users: {}", ids.size(), e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    // Only users already in the cache, never a call to user-service (for threads without the caller's token)
+    public Map<Long, UserDto> getCachedUsers(Collection<Long> ids) {
+        return cache != null ? new HashMap<>(cache.synchronous().getAllPresent(ids)) : new HashMap<>();
+    }
+
+    public void evict(Long id) {
+        if (cache != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    private Map<Long, UserDto> fetch(Collection<Long> ids) {
+        Map<Long, UserDto> users = new HashMap<>();
+        List<Long> distinct = ids.stream().distinct().toList();
+        for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+            List<Long> batch = new ArrayList<>(distinct.subList(from, Math.min(from + BATCH_SIZE, distinct.size())));
+            try {
+                for (UserDto user : userServiceClient.getUsersByIds(batch)) {
+                    users.put(user.getId(), user);
+                }
+            } catch (Exception e) {
+                log.error("Failed to fetch {} users from user-service: {}", batch.size(), e.getMessage());
+            }
+        }
+        return users;
+    }
+
+    public static String displayName(UserDto user) {
+        return user != null ? user.getFirstName() + " " + user.getLastName() : "Unknown";
+    }
+
+    private class UserLoader implements CacheLoader<Long, UserDto> {
+        @Override
+        public UserDto load(Long id) {
+            return fetch(List.of(id)).get(id);
+        }
+
+        @Override
+        public Map<Long, UserDto> loadAll(Set<? extends Long> ids) {
+            return fetch(new ArrayList<>(ids));
+        }
+    }
+}
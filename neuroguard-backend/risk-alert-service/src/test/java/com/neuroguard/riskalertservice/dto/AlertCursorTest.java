@@ -0,0 +1,37 @@
+package com.neuroguard.riskalertservice.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AlertCursorTest {
+
+    @Test
+    void roundTripsThroughAnUrlSafeToken() {
+        AlertCursor cursor = new AlertCursor(LocalDateTime.of(2026, 2, 3, 4, 5, 6, 789_000_000), 123456789L);
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(AlertCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsWholeSecondsAndNanos() {
+        AlertCursor whole = new AlertCursor(LocalDateTime.of(2026, 2, 3, 4, 5), 1L);
+        AlertCursor nanos = new AlertCursor(LocalDateTime.of(2026, 2, 3, 4, 5, 6, 1), 2L);
+
+        assertThat(AlertCursor.decode(whole.encode())).isEqualTo(whole);
+        assertThat(AlertCursor.decode(nanos.encode())).isEqualTo(nanos);
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        assertThatThrownBy(() -> AlertCursor.decode("not a token")).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> AlertCursor.decode("bm8tc2VwYXJhdG9y")).hasMessage("Invalid cursor");        // "no-separator"
+        assertThatThrownBy(() -> AlertCursor.decode("MjAyNi0wMi0wM3x4")).hasMessage("Invalid cursor");        // "2026-02-03|x"
+    }
+}
@@ -0,0 +1,151 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.dto.AlertCursor;
+import com.neuroguard.riskalertservice.dto.AlertQuery;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.entity.ArchivedAlert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(AlertPageReader.class)
+class AlertPageReaderTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private AlertPageReader pageReader;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private ArchivedAlertRepository archivedAlertRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Alert> alerts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Most alerts share one of two timestamps, so pages have to break ties on the id
+        for (int i = 0; i < 7; i++) {
+            alerts.add(alert(1L, i < 4 ? T0 : T0.plusMinutes(1), i % 2 == 0 ? AlertSeverity.CRITICAL : AlertSeverity.INFO, i == 3));
+        }
+        for (int i = 0; i < 5; i++) {
+            alerts.add(alert(2L, i < 3 ? T0 : T0.minusMinutes(1), AlertSeverity.CRITICAL, false));
+        }
+        alertRepository.flush();
+        for (Alert alert : alerts) {
+            jdbcTemplate.update("UPDATE alert SET created_at = ? WHERE id = ?", Timestamp.valueOf(alert.getCreatedAt()), alert.getId());
+        }
+    }
+
+    @Test
+    void walksOnePatientAcrossEqualTimestamps() {
+        assertThat(walk(List.of(1L), new AlertQuery(), 3)).containsExactlyElementsOf(expected(List.of(1L), new AlertQuery()));
+    }
+
+    @Test
+    void walksSeveralPatientsAcrossEqualTimestamps() {
+        List<Long> patients = List.of(1L, 2L);
+        for (int size = 1; size <= 5; size++) {
+            assertThat(walk(patients, new AlertQuery(), size)).containsExactlyElementsOf(expected(patients, new AlertQuery()));
+        }
+    }
+
+    @Test
+    void appliesOnlyTheFiltersThatAreSet() {
+        AlertQuery query = new AlertQuery();
+        query.setSeverity(AlertSeverity.CRITICAL);
+        query.setResolved(false);
+        query.setFrom(T0);
+        query.setTo(T0.plusMinutes(1));
+
+        List<Long> ids = walk(List.of(1L, 2L), query, 2);
+
+        assertThat(ids).containsExactlyElementsOf(expected(List.of(1L, 2L), query));
+        assertThat(ids).hasSize(5);
+    }
+
+    @Test
+    void archivedPagesTakeTheSameFilters() {
+        for (int i = 0; i < 6; i++) {
+            ArchivedAlert archived = new ArchivedAlert();
+            archived.setId(1000L + i);
+            archived.setPatientId(1L);
+            archived.setMessage("archived " + i);
+            archived.setSeverity(i % 2 == 0 ? AlertSeverity.CRITICAL : AlertSeverity.INFO);
+            archived.setCreatedAt(i < 3 ? T0 : T0.minusDays(1));
+            archivedAlertRepository.save(archived);
+        }
+        AlertQuery query = new AlertQuery();
+        query.setSeverity(AlertSeverity.CRITICAL);
+        query.setFrom(T0);
+
+        assertThat(pageReader.findArchivedPage(1L, query, null, 10))
+                .extracting(ArchivedAlert::getId).containsExactly(1002L, 1000L);
+        assertThat(pageReader.findArchivedPage(1L, query, new AlertCursor(T0, 1002L), 10))
+                .extracting(ArchivedAlert::getId).containsExactly(1000L);
+        query.setResolved(true);
+        assertThat(pageReader.findArchivedPage(1L, query, null, 10)).hasSize(2);
+        query.setResolved(false);
+        assertThat(pageReader.findArchivedPage(1L, query, null, 10)).isEmpty();
+    }
+
+    private List<Long> walk(Collection<Long> patientIds, AlertQuery query, int size) {
+        List<Long> ids = new ArrayList<>();
+        AlertCursor cursor = null;
+        while (true) {
+            List<Alert> page = pageReader.findPage(patientIds, query, cursor, size);
+            page.forEach(alert -> ids.add(alert.getId()));
+            if (page.size() < size) {
+                return ids;
+            }
+            Alert last = page.get(page.size() - 1);
+            cursor = new AlertCursor(last.getCreatedAt(), last.getId());
+        }
+    }
+
+    private List<Long> expected(Collection<Long> patientIds, AlertQuery query) {
+        return alerts.stream()
+                .filter(a -> patientIds.contains(a.getPatientId()))
+                .filter(a -> query.getSeverity() == null || a.getSeverity() == query.getSeverity())
+                .filter(a -> query.getResolved() == null || a.isResolved() == query.getResolved())
+                .filter(a -> query.getFrom() == null || !a.getCreatedAt().isBefore(query.getFrom()))
+                .filter(a -> query.getTo() == null || a.getCreatedAt().isBefore(query.getTo()))
+                .sorted(Comparator.comparing(Alert::getCreatedAt).thenComparing(Alert::getId).reversed())
+                .map(Alert::getId)
+                .toList();
+    }
+
+    private Alert alert(Long patientId, LocalDateTime createdAt, AlertSeverity severity, boolean resolved) {
+        Alert alert = new Alert();
+        alert.setPatientId(patientId);
+        alert.setMessage("alert " + alerts.size());
+        alert.setSeverity(severity);
+        alert.setResolved(resolved);
+        alert = alertRepository.save(alert);
+        alert.setCreatedAt(createdAt);
+        return alert;
+    }
+}
@@ -0,0 +1,50 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.dto.AlertChange;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class AlertRepositoryTest {
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Test
+    void bulkOperationsLockOnlyTheProjectionTheyNeed() {
+        Alert open = save(1L, AlertSeverity.CRITICAL, false);
+        Alert resolved = save(1L, AlertSeverity.INFO, true);
+        save(2L, AlertSeverity.CRITICAL, false);
+
+        List<AlertChange> byId = alertRepository.lockChangesByIdIn(List.of(open.getId(), resolved.getId()));
+        List<AlertChange> matching = alertRepository.lockChangesMatching(1L, AlertSeverity.CRITICAL, false, LocalDateTime.now().plusMinutes(1));
+
+        assertThat(byId).extracting(AlertChange::id, AlertChange::patientId, AlertChange::severity, AlertChange::resolved)
+                .containsExactlyInAnyOrder(
+                        tuple(open.getId(), 1L, AlertSeverity.CRITICAL, false),
+                        tuple(resolved.getId(), 1L, AlertSeverity.INFO, true));
+        assertThat(matching).extracting(AlertChange::id).containsExactly(open.getId());
+    }
+
+    private Alert save(Long patientId, AlertSeverity severity, boolean resolved) {
+        Alert alert = new Alert();
+        alert.setPatientId(patientId);
+        alert.setMessage("alert");
+        alert.setSeverity(severity);
+        alert.setResolved(resolved);
+        return alertRepository.saveAndFlush(alert);
+    }
+}
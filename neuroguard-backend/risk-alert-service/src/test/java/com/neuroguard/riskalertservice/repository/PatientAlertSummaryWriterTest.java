@@ -0,0 +1,99 @@
+package com.neuroguard.riskalertservice.repository;
+
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.entity.PatientAlertSummary;
+import com.neuroguard.riskalertservice.repository.PatientAlertSummaryWriter.Delta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(PatientAlertSummaryWriter.class)
+class PatientAlertSummaryWriterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 4, 1, 9, 0);
+
+    @Autowired
+    private PatientAlertSummaryWriter writer;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void firstDeltaInsertsAndLaterOnesAddUp() {
+        writer.apply(List.of(new Delta(1L, 1, 2, 0, T0), new Delta(2L, 0, 0, 1, T0)));
+        writer.apply(List.of(new Delta(1L, 1, -1, 3, T0.plusHours(1))));
+
+        assertSummary(1L, 2, 1, 3, T0.plusHours(1));
+        assertSummary(2L, 0, 0, 1, T0);
+    }
+
+    @Test
+    void countsNeverGoNegativeAndTheNewestAlertTimeIsKept() {
+        writer.apply(List.of(new Delta(1L, 1, 0, 0, T0.plusHours(2))));
+        // A resolve carries no alert time; an older creation time must not move it back
+        writer.apply(List.of(new Delta(1L, -3, -1, 0, null)));
+        writer.apply(List.of(new Delta(1L, 0, 0, 1, T0)));
+
+        assertSummary(1L, 0, 0, 1, T0.plusHours(2));
+    }
+
+    @Test
+    void rebuildRecountsFromTheAlerts() {
+        alert(1L, AlertSeverity.CRITICAL, false, T0);
+        alert(1L, AlertSeverity.CRITICAL, true, T0.plusHours(1));
+        alert(1L, null, false, T0.plusHours(2));
+        alert(2L, AlertSeverity.WARNING, false, T0);
+        writer.apply(List.of(new Delta(1L, 7, 7, 7, T0), new Delta(2L, 7, 7, 7, T0)));
+
+        assertThat(writer.rebuild(List.of(1L))).isPositive();
+        assertSummary(1L, 1, 0, 1, T0.plusHours(2));
+        assertSummary(2L, 7, 7, 7, T0);
+
+        writer.rebuildAll();
+        assertSummary(2L, 0, 1, 0, T0);
+    }
+
+    private void alert(Long patientId, AlertSeverity severity, boolean resolved, LocalDateTime createdAt) {
+        Alert alert = new Alert();
+        alert.setPatientId(patientId);
+        alert.setMessage("alert");
+        alert.setSeverity(severity);
+        alert.setResolved(resolved);
+        alert = alertRepository.saveAndFlush(alert);
+        jdbcTemplate.update("UPDATE alert SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), alert.getId());
+    }
+
+    private void assertSummary(Long patientId, int critical, int warning, int info, LocalDateTime lastAlertAt) {
+        PatientAlertSummary summary = jdbcTemplate.queryForObject(
+                "SELECT open_critical, open_warning, open_info, last_alert_at FROM patient_alert_summary WHERE patient_id = ?",
+                (rs, rowNum) -> {
+                    PatientAlertSummary row = new PatientAlertSummary();
+                    row.setOpenCritical(rs.getInt(1));
+                    row.setOpenWarning(rs.getInt(2));
+                    row.setOpenInfo(rs.getInt(3));
+                    row.setLastAlertAt(rs.getTimestamp(4).toLocalDateTime());
+                    return row;
+                }, patientId);
+        assertThat(summary.getOpenCritical()).isEqualTo(critical);
+        assertThat(summary.getOpenWarning()).isEqualTo(warning);
+        assertThat(summary.getOpenInfo()).isEqualTo(info);
+        assertThat(summary.getLastAlertAt()).isEqualTo(lastAlertAt);
+    }
+}
@@ -0,0 +1,157 @@
+package com.neuroguard.riskalertservice.rules;
+
+import com.neuroguard.riskalertservice.config.AlertRuleProperties.RuleDefinition;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AlertRuleFactoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+
+    private final AlertRuleFactory factory = new AlertRuleFactory();
+
+    @Test
+    void progressionStageMatchesRegardlessOfCase() {
+        AlertRule rule = factory.compile(rule("severe", "progression-stage", "Stage is SEVERE", Map.of("stage", "SEVERE")));
+        MedicalHistorySummary history = new MedicalHistorySummary();
+
+        history.setProgressionStage("severe");
+        assertThat(rule.evaluate(context(null, history))).isEqualTo("Stage is SEVERE");
+        history.setProgressionStage("MILD");
+        assertThat(rule.evaluate(context(null, history))).isNull();
+        assertThat(rule.isTimeBased()).isFalse();
+        assertThat(rule.getSeverity()).isEqualTo(AlertSeverity.CRITICAL);
+    }
+
+    @Test
+    void stageAboveAgeIsExclusiveAndTimeBased() {
+        AlertRule rule = factory.compile(rule("elderly", "progression-stage-above-age", "Moderate at {value}",
+                Map.of("stage", "MODERATE", "age", "75")));
+        MedicalHistorySummary history = new MedicalHistorySummary();
+        history.setProgressionStage("MODERATE");
+
+        assertThat(rule.evaluate(context(TODAY.minusYears(76), history))).isEqualTo("Moderate at 76");
+        assertThat(rule.evaluate(context(TODAY.minusYears(75), history))).isNull();
+        // Unknown date of birth never matches
+        assertThat(rule.evaluate(context(null, history))).isNull();
+        assertThat(rule.isTimeBased()).isTrue();
+    }
+
+    @Test
+    void fieldRulesIgnoreBlankValues() {
+        AlertRule single = factory.compile(rule("genetic", "field-present", "Genetic risk: {value}", Map.of("field", "geneticRisk")));
+        AlertRule any = factory.compile(rule("allergies", "any-field-present", "Allergies recorded",
+                Map.of("fields", "medicationAllergies, foodAllergies")));
+        MedicalHistorySummary history = new MedicalHistorySummary();
+        history.setGeneticRisk("  ");
+        history.setMedicationAllergies("");
+
+        assertThat(single.evaluate(context(null, history))).isNull();
+        assertThat(any.evaluate(context(null, history))).isNull();
+
+        history.setGeneticRisk("APOE4");
+        history.setFoodAllergies("peanuts");
+        assertThat(single.evaluate(context(null, history))).isEqualTo("Genetic risk: APOE4");
+        assertThat(any.evaluate(context(null, history))).isEqualTo("Allergies recorded");
+    }
+
+    @Test
+    void overlongFieldValuesAreCutToTheMessageColumn() {
+        AlertRule rule = factory.compile(rule("comorbidities", "field-present", "Comorbidities detected: {value}", Map.of("field", "comorbidities")));
+        MedicalHistorySummary history = new MedicalHistorySummary();
+        history.setComorbidities("x".repeat(1000));
+
+        String message = rule.evaluate(context(null, history));
+
+        assertThat(message).hasSize(MessageTemplate.MAX_LENGTH)
+                .startsWith("Comorbidities detected: xxx")
+                .endsWith("x...");
+        assertThat(MessageTemplate.compile("Comorbidities detected: {value}").matches(message)).isTrue();
+    }
+
+    @Test
+    void diagnosisAgeAndCaregiverCount() {
+        AlertRule diagnosis = factory.compile(rule("long-diagnosis", "diagnosis-age", "Diagnosed {value} years ago", Map.of("min-years", "5")));
+        AlertRule caregivers = factory.compile(rule("caregivers", "caregiver-count-above", "{value} caregivers", Map.of("count", "2")));
+        MedicalHistorySummary history = new MedicalHistorySummary();
+
+        assertThat(diagnosis.evaluate(context(null, history))).isNull();
+        assertThat(caregivers.evaluate(context(null, history))).isNull();
+
+        history.setDiagnosisDate(TODAY.minusYears(6));
+        history.setCaregiverIds(List.of(1L, 2L, 3L));
+        assertThat(diagnosis.evaluate(context(null, history))).isEqualTo("Diagnosed 6 years ago");
+        assertThat(diagnosis.isTimeBased()).isTrue();
+        assertThat(caregivers.evaluate(context(null, history))).isEqualTo("3 caregivers");
+
+        history.setCaregiverIds(List.of(1L, 2L));
+        assertThat(caregivers.evaluate(context(null, history))).isNull();
+    }
+
+    @Test
+    void identityCoversTheParamsWhateverTheirOrder() {
+        Map<String, String> ordered = new LinkedHashMap<>();
+        ordered.put("stage", "MODERATE");
+        ordered.put("age", "75");
+        Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("age", "75");
+        reversed.put("stage", "MODERATE");
+
+        AlertRule first = factory.compile(rule("elderly", "progression-stage-above-age", "m", ordered));
+        AlertRule second = factory.compile(rule("elderly", "progression-stage-above-age", "m", reversed));
+        AlertRule older = factory.compile(rule("elderly", "progression-stage-above-age", "m", Map.of("stage", "MODERATE", "age", "80")));
+
+        assertThat(first.getIdentity()).isEqualTo(second.getIdentity()).isNotEqualTo(older.getIdentity());
+        assertThat(first.getId()).isEqualTo(older.getId());
+    }
+
+    @Test
+    void recognisesItsOwnMessages() {
+        AlertRule rule = factory.compile(rule("genetic", "field-present", "Genetic risk: {value}.", Map.of("field", "geneticRisk")));
+
+        assertThat(rule.producedMessage("Genetic risk: APOE4.")).isTrue();
+        assertThat(rule.producedMessage("Genetic risk: .")).isTrue();
+        assertThat(rule.producedMessage("Family history: APOE4.")).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidDefinitions() {
+        assertThatThrownBy(() -> factory.compile(rule(" ", "progression-stage", "m", Map.of("stage", "SEVERE"))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("without id");
+        assertThatThrownBy(() -> factory.compile(rule("x", "no-such-type", "m", Map.of())))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unknown alert rule type");
+        assertThatThrownBy(() -> factory.compile(rule("x", "progression-stage", "m", Map.of())))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("missing parameter 'stage'");
+        assertThatThrownBy(() -> factory.compile(rule("x", "field-present", "m", Map.of("field", "shoeSize"))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("unknown field 'shoeSize'");
+        assertThatThrownBy(() -> factory.compile(rule("x", "progression-stage", " ", Map.of("stage", "SEVERE"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static RuleDefinition rule(String id, String type, String message, Map<String, String> params) {
+        RuleDefinition definition = new RuleDefinition();
+        definition.setId(id);
+        definition.setType(type);
+        definition.setSeverity(AlertSeverity.CRITICAL);
+        definition.setMessage(message);
+        definition.setParams(new LinkedHashMap<>(params));
+        return definition;
+    }
+
+    private static RuleContext context(LocalDate dateOfBirth, MedicalHistorySummary history) {
+        UserDto patient = new UserDto();
+        patient.setId(1L);
+        patient.setDateOfBirth(dateOfBirth);
+        return new RuleContext(patient, history, TODAY);
+    }
+}
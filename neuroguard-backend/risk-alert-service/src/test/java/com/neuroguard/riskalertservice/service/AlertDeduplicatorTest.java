@@ -0,0 +1,72 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.repository.AlertBatchWriter;
+import com.neuroguard.riskalertservice.repository.AlertRepository;
+import com.neuroguard.riskalertservice.rules.CandidateAlert;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({AlertDeduplicator.class, AlertBatchWriter.class})
+class AlertDeduplicatorTest {
+
+    @Autowired
+    private AlertDeduplicator deduplicator;
+
+    @Autowired
+    private AlertBatchWriter batchWriter;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Test
+    void openAlertOfTheSameRuleAndPatientIsNotCreatedAgainWhateverItsMessage() {
+        batchWriter.insert(List.of(candidate("age", 1L, "Patient is 76")));
+
+        List<CandidateAlert> fresh = deduplicator.filterNew(List.of(
+                candidate("age", 1L, "Patient is 77"),
+                candidate("age", 2L, "Patient is 77"),
+                candidate("allergies", 1L, "Patient has allergies"),
+                candidate("allergies", 1L, "Patient has allergies")));
+
+        assertThat(fresh).extracting(CandidateAlert::ruleId, CandidateAlert::patientId)
+                .containsExactly(tuple("age", 2L), tuple("allergies", 1L));
+    }
+
+    @Test
+    void resolvedAlertDoesNotBlockANewOne() {
+        List<Alert> inserted = batchWriter.insert(List.of(candidate("age", 1L, "Patient is 76")));
+        alertRepository.resolveByIdIn(List.of(inserted.get(0).getId()), LocalDateTime.now());
+
+        assertThat(deduplicator.filterNew(List.of(candidate("age", 1L, "Patient is 77")))).hasSize(1);
+        assertThat(batchWriter.insert(List.of(candidate("age", 1L, "Patient is 77")))).hasSize(1);
+    }
+
+    @Test
+    void uniqueKeyRejectsASecondOpenAlertForTheSameFingerprint() {
+        batchWriter.insert(List.of(candidate("age", 1L, "Patient is 76")));
+
+        assertThatThrownBy(() -> batchWriter.insert(List.of(candidate("age", 1L, "Patient is 77"))))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private static CandidateAlert candidate(String ruleId, Long patientId, String message) {
+        return new CandidateAlert(ruleId, patientId, message, AlertSeverity.WARNING, Alert.fingerprintOf(ruleId, patientId));
+    }
+}
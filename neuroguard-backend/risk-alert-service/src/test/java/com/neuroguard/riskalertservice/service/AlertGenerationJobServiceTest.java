@@ -0,0 +1,118 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.GenerationJobStatus;
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import com.neuroguard.riskalertservice.repository.GenerationRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(GenerationRunJournal.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AlertGenerationJobServiceTest {
+
+    @Autowired
+    private GenerationRunJournal runJournal;
+
+    @Autowired
+    private GenerationRunRepository runRepository;
+
+    @MockitoBean
+    private AlertService alertService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AlertGenerationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        runRepository.deleteAll();
+        when(alertService.openFullRun()).thenAnswer(invocation -> runJournal.start(GenerationRun.Kind.FULL));
+        when(alertService.generateAlertsForAllPatients(any())).thenAnswer(invocation -> {
+            GenerationRunJournal.ActiveRun run = invocation.getArgument(0);
+            release.await(10, TimeUnit.SECONDS);
+            GenerationRunSummary summary = new GenerationRunSummary();
+            runJournal.finish(run, summary);
+            return summary;
+        });
+        jobService = new AlertGenerationJobService(alertService, runJournal, 2, 20, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        // The journal is shared by the tests; let the run close before the next one starts, and before
+        // shutdown could interrupt it
+        await().atMost(5, TimeUnit.SECONDS).until(() -> runJournal.currentRun().isEmpty());
+        jobService.shutdown();
+    }
+
+    @Test
+    void fullRunIsClaimedBeforeTheSubmissionReturns() {
+        GenerationJobStatus first = jobService.submit(null);
+
+        // The second submission loses on this thread, not later on the pool
+        assertThatThrownBy(() -> jobService.submit(List.of()))
+                .isInstanceOf(GenerationInProgressException.class);
+        assertThat(runRepository.count()).isEqualTo(1);
+        assertThat(first.getJobId()).isEqualTo(String.valueOf(runRepository.findAll().get(0).getId()));
+        assertThat(first.getScope()).isEqualTo("ALL");
+    }
+
+    @Test
+    void aRunInterruptedByShutdownIsClosed() {
+        String jobId = jobService.submit(null).getJobId();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(jobService.getStatus(jobId)).get().extracting(GenerationJobStatus::getStatus).isEqualTo("RUNNING"));
+
+        // The worker is interrupted inside the run, which never gets to close itself
+        jobService.shutdown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> runJournal.currentRun().isEmpty());
+        GenerationRun run = runRepository.findById(Long.valueOf(jobId)).orElseThrow();
+        assertThat(run.getStatus()).isEqualTo(GenerationRun.Status.FAILED);
+        assertThat(run.getError()).isEqualTo("interrupted");
+    }
+
+    @Test
+    void fullRunStatusIsReadFromTheJournal() {
+        String jobId = jobService.submit(null).getJobId();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(jobService.getStatus(jobId)).get().extracting(GenerationJobStatus::getStatus).isEqualTo("RUNNING"));
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(jobService.getStatus(jobId)).get().extracting(GenerationJobStatus::getStatus).isEqualTo("COMPLETED"));
+
+        // A fresh instance (another replica, or after a restart) sees the same job
+        AlertGenerationJobService other = new AlertGenerationJobService(alertService, runJournal, 1, 1, Duration.ofHours(1));
+        try {
+            assertThat(other.getStatus(jobId)).get().extracting(GenerationJobStatus::getStatus).isEqualTo("COMPLETED");
+            assertThat(other.getStatus("not-a-job")).isEmpty();
+        } finally {
+            other.shutdown();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.config.AlertRuleProperties;
+import com.neuroguard.riskalertservice.config.AlertRuleProperties.RuleDefinition;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.rules.AlertRule;
+import com.neuroguard.riskalertservice.rules.AlertRuleFactory;
+import com.neuroguard.riskalertservice.rules.AlertRuleRegistry;
+import com.neuroguard.riskalertservice.rules.CandidateAlert;
+import com.neuroguard.riskalertservice.rules.EvaluationScope;
+import com.neuroguard.riskalertservice.rules.RuleContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AlertRuleEvaluatorTest {
+
+    // A rule contributed as a bean rather than through alert.rules
+    private static final AlertRule UNASSIGNED = new AlertRule() {
+        @Override
+        public String getId() {
+            return "no-caregiver";
+        }
+
+        @Override
+        public AlertSeverity getSeverity() {
+            return AlertSeverity.WARNING;
+        }
+
+        @Override
+        public String evaluate(RuleContext context) {
+            List<Long> caregivers = context.getHistory().getCaregiverIds();
+            return caregivers == null || caregivers.isEmpty() ? "No caregiver assigned" : null;
+        }
+    };
+
+    @Test
+    void producesOneFingerprintedCandidatePerMatchingRule() {
+        AlertRuleEvaluator evaluator = evaluator(List.of(
+                definition("severe", "progression-stage", Map.of("stage", "SEVERE"), true),
+                definition("long-diagnosis", "diagnosis-age", Map.of("min-years", "5"), true),
+                definition("disabled", "progression-stage", Map.of("stage", "SEVERE"), false)), UNASSIGNED);
+        MedicalHistorySummary history = history("SEVERE", LocalDate.now().minusYears(1));
+
+        List<CandidateAlert> candidates = evaluator.evaluate(patient(9L), history);
+
+        assertThat(candidates).extracting(CandidateAlert::ruleId, CandidateAlert::patientId, CandidateAlert::severity)
+                .containsExactly(tuple("severe", 9L, AlertSeverity.CRITICAL), tuple("no-caregiver", 9L, AlertSeverity.WARNING));
+        assertThat(candidates.get(0).fingerprint()).isEqualTo(Alert.fingerprintOf("severe{stage=SEVERE}", 9L));
+        assertThat(candidates.get(1).fingerprint()).isEqualTo(Alert.fingerprintOf("no-caregiver", 9L));
+    }
+
+    @Test
+    void timeBasedScopeOnlyRunsTimeBasedRules() {
+        AlertRuleEvaluator evaluator = evaluator(List.of(
+                definition("severe", "progression-stage", Map.of("stage", "SEVERE"), true),
+                definition("long-diagnosis", "diagnosis-age", Map.of("min-years", "5"), true)), UNASSIGNED);
+        MedicalHistorySummary history = history("SEVERE", LocalDate.now().minusYears(7));
+
+        assertThat(evaluator.evaluate(patient(9L), history, EvaluationScope.TIME_BASED))
+                .extracting(CandidateAlert::ruleId).containsExactly("long-diagnosis");
+        assertThat(evaluator.evaluate(patient(9L), history, EvaluationScope.ALL))
+                .extracting(CandidateAlert::ruleId).containsExactly("severe", "long-diagnosis", "no-caregiver");
+    }
+
+    @Test
+    void noMatchReturnsAnEmptyList() {
+        AlertRuleEvaluator evaluator = evaluator(List.of(definition("severe", "progression-stage", Map.of("stage", "SEVERE"), true)));
+        MedicalHistorySummary history = history("MILD", null);
+
+        assertThat(evaluator.evaluate(patient(9L), history)).isEmpty();
+    }
+
+    @Test
+    void duplicateRuleIdsAreRejected() {
+        assertThatThrownBy(() -> evaluator(List.of(definition("no-caregiver", "progression-stage", Map.of("stage", "SEVERE"), true)), UNASSIGNED))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no-caregiver");
+    }
+
+    private static AlertRuleEvaluator evaluator(List<RuleDefinition> definitions, AlertRule... beans) {
+        AlertRuleProperties properties = new AlertRuleProperties();
+        properties.setRules(definitions);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (AlertRule bean : beans) {
+            beanFactory.addBean(bean.getId(), bean);
+        }
+        AlertRuleRegistry registry = new AlertRuleRegistry(properties, new AlertRuleFactory(),
+                beanFactory.getBeanProvider(AlertRule.class), new SimpleMeterRegistry());
+        return new AlertRuleEvaluator(registry);
+    }
+
+    private static RuleDefinition definition(String id, String type, Map<String, String> params, boolean enabled) {
+        RuleDefinition definition = new RuleDefinition();
+        definition.setId(id);
+        definition.setType(type);
+        definition.setSeverity(AlertSeverity.CRITICAL);
+        definition.setMessage(id + " {value}");
+        definition.setEnabled(enabled);
+        definition.setParams(params);
+        return definition;
+    }
+
+    private static MedicalHistorySummary history(String stage, LocalDate diagnosisDate) {
+        MedicalHistorySummary history = new MedicalHistorySummary();
+        history.setProgressionStage(stage);
+        history.setDiagnosisDate(diagnosisDate);
+        return history;
+    }
+
+    private static UserDto patient(Long id) {
+        UserDto patient = new UserDto();
+        patient.setId(id);
+        patient.setRole("PATIENT");
+        return patient;
+    }
+}
@@ -0,0 +1,169 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.client.MedicalHistoryBulkReader;
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import com.neuroguard.riskalertservice.entity.GenerationWatermark;
+import com.neuroguard.riskalertservice.repository.GenerationWatermarkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertServiceChangeFeedTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Mock
+    private MedicalHistoryBulkReader bulkReader;
+
+    @Mock
+    private AlertGenerationPipeline generationPipeline;
+
+    @Mock
+    private GenerationWatermarkRepository watermarkRepository;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private GenerationRunJournal runJournal;
+
+    @Mock
+    private GenerationLeaseManager leaseManager;
+
+    @Spy
+    private AlertMetrics metrics = new AlertMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private AlertService alertService;
+
+    private final List<Object[]> savedWatermarks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(alertService, "changePageSize", 2);
+        ReflectionTestUtils.setField(alertService, "changeCommitSlack", Duration.ofMinutes(2));
+        when(leaseManager.runExclusively(anyString(), any(), any()))
+                .thenAnswer(invocation -> Optional.of(invocation.<Supplier<?>>getArgument(2).get()));
+        when(runJournal.start(GenerationRun.Kind.CHANGES)).thenReturn(mock(GenerationRunJournal.ActiveRun.class));
+        lenient().when(userDirectory.getUsers(any())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                .collect(Collectors.toMap(Function.identity(), AlertServiceChangeFeedTest::patient)));
+        lenient().when(watermarkRepository.save(any())).thenAnswer(invocation -> {
+            GenerationWatermark saved = invocation.getArgument(0);
+            savedWatermarks.add(new Object[]{saved.getWatermark(), saved.getWatermarkId()});
+            return saved;
+        });
+    }
+
+    @Test
+    void checkpointsTheWatermarkAfterEveryPage() {
+        storedWatermark(T0, 7L);
+        when(bulkReader.getSummariesChangedSince(T0.minusMinutes(2), 0L, 2))
+                .thenReturn(List.of(history(11L, 1L, T0.plusMinutes(1)), history(12L, 2L, T0.plusMinutes(2))));
+        when(bulkReader.getSummariesChangedSince(T0.plusMinutes(2), 12L, 2))
+                .thenReturn(List.of(history(13L, 3L, T0.plusMinutes(3))));
+        when(generationPipeline.run(any(), anyMap(), any())).thenAnswer(invocation -> processed(invocation.getArgument(0), 0));
+
+        GenerationRunSummary summary = alertService.generateAlertsForChangedPatients().orElseThrow();
+
+        assertThat(summary.getPatientsProcessed()).isEqualTo(3);
+        assertThat(savedWatermarks).extracting(saved -> tuple(saved[0], saved[1]))
+                .containsExactly(tuple(T0.plusMinutes(2), 12L), tuple(T0.plusMinutes(3), 13L));
+    }
+
+    @Test
+    void aFailedPageKeepsTheCheckpointOfTheLastCompletePage() {
+        storedWatermark(T0, 7L);
+        when(bulkReader.getSummariesChangedSince(T0.minusMinutes(2), 0L, 2))
+                .thenReturn(List.of(history(11L, 1L, T0.plusMinutes(1)), history(12L, 2L, T0.plusMinutes(2))));
+        when(bulkReader.getSummariesChangedSince(T0.plusMinutes(2), 12L, 2))
+                .thenReturn(List.of(history(13L, 3L, T0.plusMinutes(3)), history(14L, 4L, T0.plusMinutes(4))));
+        when(generationPipeline.run(any(), anyMap(), any()))
+                .thenAnswer(invocation -> processed(invocation.getArgument(0), 0))
+                .thenAnswer(invocation -> processed(invocation.getArgument(0), 1));
+
+        alertService.generateAlertsForChangedPatients();
+
+        assertThat(savedWatermarks).extracting(saved -> tuple(saved[0], saved[1]))
+                .containsExactly(tuple(T0.plusMinutes(2), 12L));
+        verify(bulkReader, times(2)).getSummariesChangedSince(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void changesReReadInsideTheSafetyLagNeverMoveTheWatermarkBack() {
+        storedWatermark(T0, 7L);
+        when(bulkReader.getSummariesChangedSince(eq(T0.minusMinutes(2)), eq(0L), eq(2)))
+                .thenReturn(List.of(history(5L, 1L, T0.minusMinutes(1))));
+        when(generationPipeline.run(any(), anyMap(), any())).thenAnswer(invocation -> processed(invocation.getArgument(0), 0));
+
+        GenerationRunSummary summary = alertService.generateAlertsForChangedPatients().orElseThrow();
+
+        // The late-committed change was evaluated, the stored position stays where it was
+        assertThat(summary.getPatientsProcessed()).isEqualTo(1);
+        assertThat(savedWatermarks).isEmpty();
+    }
+
+    private void storedWatermark(LocalDateTime at, Long id) {
+        GenerationWatermark watermark = new GenerationWatermark();
+        watermark.setName("medical-history-changes");
+        watermark.setWatermark(at);
+        watermark.setWatermarkId(id);
+        when(watermarkRepository.findById("medical-history-changes")).thenReturn(Optional.of(watermark));
+    }
+
+    private static GenerationRunSummary processed(List<UserDto> patients, int failures) {
+        GenerationRunSummary summary = new GenerationRunSummary();
+        summary.setPatientsTotal(patients.size());
+        summary.setPatientsProcessed(patients.size() - failures);
+        summary.setFailures(failures);
+        return summary;
+    }
+
+    private static MedicalHistorySummary history(Long id, Long patientId, LocalDateTime updatedAt) {
+        MedicalHistorySummary history = new MedicalHistorySummary();
+        history.setId(id);
+        history.setPatientId(patientId);
+        history.setUpdatedAt(updatedAt);
+        return history;
+    }
+
+    private static UserDto patient(Long id) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        user.setRole("PATIENT");
+        return user;
+    }
+}
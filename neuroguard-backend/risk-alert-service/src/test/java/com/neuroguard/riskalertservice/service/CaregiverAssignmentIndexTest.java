@@ -0,0 +1,101 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.client.MedicalHistoryClient;
+import com.neuroguard.riskalertservice.dto.MedicalHistorySummary;
+import com.neuroguard.riskalertservice.dto.UserDto;
+import com.neuroguard.riskalertservice.entity.CaregiverSync;
+import com.neuroguard.riskalertservice.repository.CaregiverSyncRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "alert.assignments.sync-ttl=1h")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CaregiverAssignmentIndex.class)
+class CaregiverAssignmentIndexTest {
+
+    private static final Long CAREGIVER = 9L;
+
+    @Autowired
+    private CaregiverAssignmentIndex assignmentIndex;
+
+    @Autowired
+    private CaregiverSyncRepository syncRepository;
+
+    @MockitoBean
+    private MedicalHistoryClient medicalHistoryClient;
+
+    @Test
+    void caregiverWithoutPatientsIsLookedUpOnce() {
+        when(medicalHistoryClient.getAssignedPatientsForCaregiver()).thenReturn(List.of());
+
+        assertThat(assignmentIndex.getPatientIds(CAREGIVER)).isEmpty();
+        assertThat(assignmentIndex.getPatientIds(CAREGIVER)).isEmpty();
+
+        verify(medicalHistoryClient, times(1)).getAssignedPatientsForCaregiver();
+    }
+
+    @Test
+    void rowsFromAPartialSyncAreNotServedUntilTheCaregiverIsComplete() {
+        // Alert generation saw one of the caregiver's two patients
+        assignmentIndex.refresh(List.of(5L), List.of(history(5L, CAREGIVER)));
+        when(medicalHistoryClient.getAssignedPatientsForCaregiver()).thenReturn(patients(5L, 6L));
+
+        assertThat(assignmentIndex.getPatientIds(CAREGIVER)).containsExactlyInAnyOrder(5L, 6L);
+        assertThat(assignmentIndex.getPatientIds(CAREGIVER)).containsExactlyInAnyOrder(5L, 6L);
+
+        verify(medicalHistoryClient, times(1)).getAssignedPatientsForCaregiver();
+    }
+
+    @Test
+    void expiredCopyIsReplacedByTheRemoteList() {
+        when(medicalHistoryClient.getAssignedPatientsForCaregiver()).thenReturn(patients(5L, 6L), patients(6L, 7L));
+        assignmentIndex.getPatientIds(CAREGIVER);
+        syncRepository.save(new CaregiverSync(CAREGIVER, LocalDateTime.now().minusHours(2)));
+
+        assertThat(assignmentIndex.getPatientIds(CAREGIVER)).containsExactlyInAnyOrder(6L, 7L);
+        assertThat(assignmentIndex.getPatientIds(CAREGIVER)).containsExactlyInAnyOrder(6L, 7L);
+
+        verify(medicalHistoryClient, times(2)).getAssignedPatientsForCaregiver();
+    }
+
+    @Test
+    void expiredCopyIsServedWhenTheRemoteCallFails() {
+        when(medicalHistoryClient.getAssignedPatientsForCaregiver())
+                .thenReturn(patients(5L))
+                .thenThrow(new RuntimeException("medical-history-service unavailable"));
+        assignmentIndex.getPatientIds(CAREGIVER);
+        syncRepository.save(new CaregiverSync(CAREGIVER, LocalDateTime.now().minusHours(2)));
+
+        assertThat(assignmentIndex.getPatientIds(CAREGIVER)).containsExactly(5L);
+    }
+
+    private static List<UserDto> patients(Long... ids) {
+        return Arrays.stream(ids).map(id -> {
+            UserDto user = new UserDto();
+            user.setId(id);
+            return user;
+        }).toList();
+    }
+
+    private static MedicalHistorySummary history(Long patientId, Long caregiverId) {
+        MedicalHistorySummary history = new MedicalHistorySummary();
+        history.setPatientId(patientId);
+        history.setCaregiverIds(List.of(caregiverId));
+        return history;
+    }
+}
@@ -0,0 +1,133 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.entity.GenerationLease;
+import com.neuroguard.riskalertservice.repository.GenerationLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "alert.partitioning.lease-renew-interval=1s")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(GenerationLeaseManager.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GenerationLeaseManagerTest {
+
+    private static final String LEASE = "test-lease";
+
+    @Autowired
+    private GenerationLeaseManager leaseManager;
+
+    @Autowired
+    private GenerationLeaseRepository leaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private PatientPartitionResolver partitionResolver;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository.deleteAll();
+        when(partitionResolver.instanceId()).thenReturn("me");
+    }
+
+    @Test
+    void heartbeatExtendsTheLeaseWhileTheWorkRuns() {
+        AtomicReference<LocalDateTime> acquiredUntil = new AtomicReference<>();
+        AtomicReference<LocalDateTime> renewedUntil = new AtomicReference<>();
+
+        Optional<String> result = leaseManager.runExclusively(LEASE, Duration.ofSeconds(3), () -> {
+            acquiredUntil.set(expiresAt());
+            sleep(2500);
+            renewedUntil.set(expiresAt());
+            return "done";
+        });
+
+        assertThat(result).contains("done");
+        assertThat(renewedUntil.get()).isAfter(acquiredUntil.get());
+        // Released once the work is done
+        assertThat(expiresAt()).isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    void workIsStoppedWhenAnotherInstanceTakesTheLeaseOver() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        assertThatThrownBy(() -> leaseManager.runExclusively(LEASE, Duration.ofSeconds(3), () -> {
+            jdbcTemplate.update("UPDATE generation_lease SET owner = 'other' WHERE name = ?", LEASE);
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        })).isInstanceOf(GenerationInProgressException.class);
+
+        assertThat(interrupted).isTrue();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        // Not released: the lease belongs to the other instance now
+        assertThat(leaseRepository.findById(LEASE)).get().extracting(GenerationLease::getOwner).isEqualTo("other");
+    }
+
+    @Test
+    void skipsWorkWhileAnotherInstanceHoldsTheLease() {
+        GenerationLease lease = new GenerationLease();
+        lease.setName(LEASE);
+        lease.setOwner("other");
+        lease.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        leaseRepository.save(lease);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        Optional<Boolean> result = leaseManager.runExclusively(LEASE, Duration.ofMinutes(5), () -> {
+            ran.set(true);
+            return true;
+        });
+
+        assertThat(result).isEmpty();
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void takesOverAnExpiredLease() {
+        GenerationLease lease = new GenerationLease();
+        lease.setName(LEASE);
+        lease.setOwner("other");
+        lease.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        leaseRepository.save(lease);
+
+        assertThat(leaseManager.runExclusively(LEASE, Duration.ofMinutes(5), () -> "done")).contains("done");
+    }
+
+    private LocalDateTime expiresAt() {
+        return leaseRepository.findById(LEASE).orElseThrow().getExpiresAt();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
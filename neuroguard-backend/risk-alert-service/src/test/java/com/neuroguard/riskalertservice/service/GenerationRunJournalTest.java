@@ -0,0 +1,177 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.dto.GenerationRunSummary;
+import com.neuroguard.riskalertservice.entity.GenerationRun;
+import com.neuroguard.riskalertservice.repository.GenerationRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"alert.generation.resume-window=1h", "alert.generation.stale-after=3m"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(GenerationRunJournal.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GenerationRunJournalTest {
+
+    private static final PatientPartition FIRST_OF_TWO = new PatientPartition(0, 2);
+    private static final PatientPartition SECOND_OF_TWO = new PatientPartition(1, 2);
+
+    @Autowired
+    private GenerationRunJournal journal;
+
+    @Autowired
+    private GenerationRunRepository runRepository;
+
+    private GenerationRunJournal.ActiveRun active;
+
+    @BeforeEach
+    void setUp() {
+        runRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (active != null && journal.isOpen(active)) {
+            journal.fail(active, new RuntimeException("test over"));
+        }
+    }
+
+    @Test
+    void resumesAnInterruptedRunFromItsCheckpointAndAddsUpTheCounts() {
+        GenerationRun interrupted = unfinished(GenerationRun.Kind.TIME_BASED, FIRST_OF_TWO, 40L, LocalDateTime.now().minusMinutes(5));
+
+        assertThat(journal.hasResumableRun(GenerationRun.Kind.TIME_BASED, FIRST_OF_TWO)).isTrue();
+        active = journal.start(GenerationRun.Kind.TIME_BASED, FIRST_OF_TWO);
+
+        assertThat(active.getRunId()).isEqualTo(interrupted.getId());
+        assertThat(active.getResumeAfter()).isEqualTo(40L);
+        journal.finish(active, progress(100, 30, 2));
+
+        GenerationRun finished = runRepository.findById(interrupted.getId()).orElseThrow();
+        assertThat(finished.getStatus()).isEqualTo(GenerationRun.Status.COMPLETED);
+        assertThat(finished.getAttempts()).isEqualTo(2);
+        // The total is the one of the first attempt, the rest adds up across attempts
+        assertThat(finished.getPatientsTotal()).isEqualTo(200);
+        assertThat(finished.getPatientsProcessed()).isEqualTo(50 + 30);
+        assertThat(finished.getAlertsCreated()).isEqualTo(5 + 2);
+    }
+
+    @Test
+    void leavesRunsOfOtherPartitionsAlone() {
+        GenerationRun other = unfinished(GenerationRun.Kind.TIME_BASED, SECOND_OF_TWO, 41L, LocalDateTime.now().minusMinutes(5));
+
+        assertThat(journal.hasResumableRun(GenerationRun.Kind.TIME_BASED, FIRST_OF_TWO)).isFalse();
+        active = journal.start(GenerationRun.Kind.TIME_BASED, FIRST_OF_TWO);
+
+        assertThat(active.getRunId()).isNotEqualTo(other.getId());
+        assertThat(active.getResumeAfter()).isNull();
+        assertThat(runRepository.findById(other.getId()).orElseThrow().getStatus()).isEqualTo(GenerationRun.Status.RUNNING);
+    }
+
+    @Test
+    void abandonsRunsThatCannotBeResumed() {
+        GenerationRun stale = unfinished(GenerationRun.Kind.FULL, PatientPartition.ALL, 10L, LocalDateTime.now().minusHours(2));
+        // Same slot count changed: the old partitioning no longer matches this replica's
+        GenerationRun repartitioned = unfinished(GenerationRun.Kind.FULL, new PatientPartition(0, 3), 10L, LocalDateTime.now().minusMinutes(5));
+
+        assertThat(journal.hasResumableRun(GenerationRun.Kind.FULL, PatientPartition.ALL)).isFalse();
+        active = journal.start(GenerationRun.Kind.FULL);
+
+        assertThat(active.getResumeAfter()).isNull();
+        assertThat(runRepository.findById(stale.getId()).orElseThrow().getStatus()).isEqualTo(GenerationRun.Status.ABANDONED);
+        assertThat(runRepository.findById(repartitioned.getId()).orElseThrow().getStatus()).isEqualTo(GenerationRun.Status.ABANDONED);
+    }
+
+    @Test
+    void leavesRunsThatAreStillCheckpointingAlone() {
+        // Another replica's on-demand run: same partition, checkpointed a moment ago
+        GenerationRun live = unfinished(GenerationRun.Kind.FULL, PatientPartition.ALL, 10L, LocalDateTime.now().minusMinutes(1));
+
+        assertThat(journal.hasResumableRun(GenerationRun.Kind.FULL, PatientPartition.ALL)).isFalse();
+        active = journal.start(GenerationRun.Kind.FULL);
+
+        assertThat(active.getRunId()).isNotEqualTo(live.getId());
+        assertThat(active.getResumeAfter()).isNull();
+        GenerationRun untouched = runRepository.findById(live.getId()).orElseThrow();
+        assertThat(untouched.getStatus()).isEqualTo(GenerationRun.Status.RUNNING);
+        assertThat(untouched.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void aRunTakenOverElsewhereIsNotOverwritten() {
+        active = journal.start(GenerationRun.Kind.FULL);
+        GenerationRun elsewhere = runRepository.findById(active.getRunId()).orElseThrow();
+        elsewhere.setStatus(GenerationRun.Status.ABANDONED);
+        runRepository.save(elsewhere);
+
+        assertThatThrownBy(() -> journal.checkpoint(active, progress(10, 4, 1), 4L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        journal.fail(active, new RuntimeException("boom"));
+
+        assertThat(journal.currentRun()).isEmpty();
+        assertThat(runRepository.findById(active.getRunId()).orElseThrow().getStatus()).isEqualTo(GenerationRun.Status.ABANDONED);
+    }
+
+    @Test
+    void changeRunsAreNeverResumed() {
+        unfinished(GenerationRun.Kind.CHANGES, PatientPartition.ALL, 10L, LocalDateTime.now().minusMinutes(1));
+
+        assertThat(journal.hasResumableRun(GenerationRun.Kind.CHANGES, PatientPartition.ALL)).isFalse();
+    }
+
+    @Test
+    void onlyOneRunAtATime() {
+        active = journal.start(GenerationRun.Kind.FULL);
+
+        assertThatThrownBy(() -> journal.start(GenerationRun.Kind.TIME_BASED, FIRST_OF_TWO))
+                .isInstanceOf(GenerationInProgressException.class);
+        assertThat(journal.hasResumableRun(GenerationRun.Kind.FULL, PatientPartition.ALL)).isFalse();
+
+        journal.checkpoint(active, progress(10, 4, 1), 4L);
+        assertThat(journal.currentRun()).get().extracting(GenerationRun::getLastPatientId).isEqualTo(4L);
+        journal.fail(active, new RuntimeException("boom"));
+
+        assertThat(journal.currentRun()).isEmpty();
+        GenerationRun failed = runRepository.findById(active.getRunId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(GenerationRun.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("boom");
+    }
+
+    private GenerationRun unfinished(GenerationRun.Kind kind, PatientPartition partition, Long lastPatientId, LocalDateTime checkpointAt) {
+        GenerationRun run = new GenerationRun();
+        run.setKind(kind);
+        run.setStatus(GenerationRun.Status.RUNNING);
+        run.setShardIndex(partition.index());
+        run.setShardCount(partition.count());
+        run.setAttempts(1);
+        run.setPatientsTotal(200);
+        run.setPatientsProcessed(50);
+        run.setAlertsCreated(5);
+        run.setLastPatientId(lastPatientId);
+        run.setStartedAt(checkpointAt.minusMinutes(10));
+        run.setCheckpointAt(checkpointAt);
+        return runRepository.save(run);
+    }
+
+    private static GenerationRunSummary progress(int total, int processed, int alerts) {
+        GenerationRunSummary summary = new GenerationRunSummary();
+        summary.setPatientsTotal(total);
+        summary.setPatientsProcessed(processed);
+        summary.setAlertsCreated(alerts);
+        return summary;
+    }
+}
@@ -0,0 +1,101 @@
+package com.neuroguard.riskalertservice.service;
+
+import com.neuroguard.riskalertservice.config.AlertRuleProperties.RuleDefinition;
+import com.neuroguard.riskalertservice.entity.Alert;
+import com.neuroguard.riskalertservice.entity.AlertSeverity;
+import com.neuroguard.riskalertservice.rules.AlertRule;
+import com.neuroguard.riskalertservice.rules.AlertRuleFactory;
+import com.neuroguard.riskalertservice.rules.AlertRuleRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(LegacyFingerprintBackfill.class)
+class LegacyFingerprintBackfillTest {
+
+    @Autowired
+    private LegacyFingerprintBackfill backfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private AlertRuleRegistry ruleRegistry;
+
+    private AlertRule severe;
+    private AlertRule comorbidities;
+
+    @BeforeEach
+    void setUp() {
+        AlertRuleFactory factory = new AlertRuleFactory();
+        severe = factory.compile(definition("severe-progression", "progression-stage",
+                "Progression stage is SEVERE.", Map.of("stage", "SEVERE")));
+        comorbidities = factory.compile(definition("comorbidities", "field-present",
+                "Comorbidities detected: {value}", Map.of("field", "comorbidities")));
+        when(ruleRegistry.getRules()).thenReturn(List.of(severe, comorbidities));
+    }
+
+    @Test
+    void mapsLegacyOpenAlertsToTheirRule() {
+        long byRuleId = insert(1L, "severe-progression", "Progression stage is SEVERE.", false, null);
+        long byMessage = insert(2L, null, "Comorbidities detected: diabetes", false, null);
+        long manual = insert(3L, null, "Comorbidities detected: asthma", false, 7L);
+        long resolved = insert(4L, null, "Progression stage is SEVERE.", true, null);
+
+        backfill.backfill();
+
+        assertThat(fingerprint(byRuleId)).isEqualTo(Alert.fingerprintOf(severe.getIdentity(), 1L));
+        assertThat(fingerprint(byMessage)).isEqualTo(Alert.fingerprintOf(comorbidities.getIdentity(), 2L));
+        assertThat(jdbcTemplate.queryForObject("SELECT rule_id FROM alert WHERE id = ?", String.class, byMessage)).isEqualTo("comorbidities");
+        assertThat(fingerprint(manual)).isNull();
+        assertThat(fingerprint(resolved)).isNull();
+    }
+
+    @Test
+    void newestOfEquivalentOpenAlertsTakesTheFingerprint() {
+        long older = insert(1L, null, "Comorbidities detected: diabetes", false, null);
+        long newer = insert(1L, null, "Comorbidities detected: diabetes, asthma", false, null);
+
+        backfill.backfill();
+        backfill.backfill();
+
+        assertThat(fingerprint(newer)).isEqualTo(Alert.fingerprintOf(comorbidities.getIdentity(), 1L));
+        assertThat(fingerprint(older)).isNull();
+    }
+
+    private long insert(Long patientId, String ruleId, String message, boolean resolved, Long createdBy) {
+        jdbcTemplate.update("INSERT INTO alert (patient_id, message, severity_level, resolved, created_by, rule_id, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                patientId, message, AlertSeverity.INFO.ordinal(), resolved, createdBy, ruleId);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM alert", Long.class);
+    }
+
+    private String fingerprint(long id) {
+        return jdbcTemplate.queryForObject("SELECT rule_fingerprint FROM alert WHERE id = ?", String.class, id);
+    }
+
+    private static RuleDefinition definition(String id, String type, String message, Map<String, String> params) {
+        RuleDefinition definition = new RuleDefinition();
+        definition.setId(id);
+        definition.setType(type);
+        definition.setSeverity(AlertSeverity.INFO);
+        definition.setMessage(message);
+        definition.setParams(params);
+        return definition;
+    }
+}
@@ -22,6 +22,8 @@ import java.util.stream.Collectors;
 @RequestMapping("/users")
 public class UserController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -73,6 +75,19 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Bulk lookup for other services: unknown ids are simply absent from the result
+    // At most MAX_BATCH_SIZE ids per request (callers chunk larger lookups), 400 beyond that
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserDto>> getUsersByIds(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserDto> dtos = userRepository.findAllById(ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(dtos);
+    }
+
     @GetMapping("/role/{role}")
     public ResponseEntity<List<UserDto>> getUsersByRole(@PathVariable String role) {
         try {